@@ -2,6 +2,7 @@ plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.kotlin.android)
     alias(libs.plugins.kotlin.compose)
+    alias(libs.plugins.kotlin.serialization)
     id("kotlin-kapt")
 }
 
@@ -55,8 +56,8 @@ dependencies {
     implementation(libs.retrofit.core)
     implementation(libs.retrofit.converter.gson)
     implementation(libs.okhttp.core)
-    implementation(libs.okhttp.logging)
     implementation(libs.gson)
+    implementation(libs.kotlinx.serialization.json)
     
     // Image loading
     implementation(libs.coil.compose)
@@ -29,6 +29,7 @@ import com.example.myapplication1.ui.navigation.bottomNavItems
 import com.example.myapplication1.ui.screens.*
 import com.example.myapplication1.ui.theme.*
 import com.example.myapplication1.ui.viewmodel.MangaViewModel
+import com.example.myapplication1.ui.viewmodel.StartupDestination
 import com.example.myapplication1.ui.viewmodel.UserViewModel
 import com.example.myapplication1.ui.viewmodel.ViewModelFactory
 
@@ -45,6 +46,18 @@ class MainActivity : FragmentActivity() {
     }
 }
 
+/**
+ * What a route needs loaded. Splash and sign-in lead to Home, so Home's lists
+ * load behind them.
+ */
+private fun startupDestinationOf(route: String): StartupDestination = when (route) {
+    Screen.Home.route, Screen.TopRated.route, Screen.Popular.route,
+    Screen.FirstPage.route, Screen.Login.route, Screen.Signup.route -> StartupDestination.HOME
+    Screen.Explore.route -> StartupDestination.EXPLORE
+    Screen.ChaptersList.route, Screen.ChapterReader.route -> StartupDestination.READER
+    else -> StartupDestination.OTHER
+}
+
 @Composable
 fun MangaApp() {
     val navController = rememberNavController()
@@ -66,6 +79,11 @@ fun MangaApp() {
         }
     }
     
+    // Load what the destination shows first; the rest is deferred until idle
+    LaunchedEffect(currentRoute) {
+        currentRoute?.let { mangaViewModel.onDestination(startupDestinationOf(it)) }
+    }
+    
     // Navigate based on authentication state
     LaunchedEffect(authState.isAuthenticated) {
         if (!authState.isAuthenticated && currentRoute != Screen.Login.route && currentRoute != Screen.Signup.route) {
@@ -291,7 +309,13 @@ fun MangaApp() {
                     chapterId = chapterId,
                     chapterTitle = chapterTitle,
                     viewModel = mangaViewModel,
-                    onBackClick = { navController.popBackStack() }
+                    onBackClick = { navController.popBackStack() },
+                    onNextChapter = { nextId, nextTitle ->
+                        // Replaces this chapter - back still returns to the chapter list
+                        navController.navigate(Screen.ChapterReader.createRoute(nextId, nextTitle)) {
+                            popUpTo(Screen.ChapterReader.route) { inclusive = true }
+                        }
+                    }
                 )
             }
         }
@@ -1,7 +1,13 @@
 package com.example.myapplication1
 
 import android.app.Application
+import android.content.ComponentCallbacks2
+import android.util.Log
 import com.example.myapplication1.data.local.AppDatabase
+import com.example.myapplication1.data.network.NetworkModule
+import com.example.myapplication1.data.network.NetworkTelemetry
+import com.example.myapplication1.data.network.RetryStats
+import com.example.myapplication1.data.repository.MangaRepository
 
 /**
  * Application class to initialize database and other app-wide components
@@ -14,9 +20,34 @@ class MangaApplication : Application() {
     
     override fun onCreate() {
         super.onCreate()
+        // Give the network layer a cache directory before any client is built
+        NetworkModule.init(this)
         // Initialize database immediately so it's available in Database Inspector
         // This creates the database file on app startup
         database.openHelper.writableDatabase
+        // Lists and details paint from the last stored responses, then revalidate;
+        // resolved MangaDex ids are remembered
+        MangaRepository.getInstance().attachDatabase(database)
+    }
+    
+    override fun onTrimMemory(level: Int) {
+        super.onTrimMemory(level)
+        // The app left the screen - log where this session's network time went
+        // and how well the details cache kept calls off the network
+        if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            logPerformanceReport()
+        }
+    }
+    
+    private fun logPerformanceReport() {
+        val endpoints = NetworkTelemetry.report()
+        if (endpoints.isEmpty()) return
+        Log.i(TAG, "Endpoints, slowest first:\n$endpoints\nRetries: $RetryStats\n" +
+            "Details cache: ${MangaRepository.getInstance().detailsCacheStats}")
+    }
+    
+    companion object {
+        private const val TAG = "MangaNetwork"
     }
 }
 
@@ -9,6 +9,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.myapplication1.R;
+import com.example.myapplication1.data.network.NetworkModule;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,8 +17,6 @@ import java.util.List;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class AnimeDetailActivity extends AppCompatActivity {
     private RecyclerView recyclerEpisodes;
@@ -44,12 +43,8 @@ public class AnimeDetailActivity extends AppCompatActivity {
         String animeTitle = getIntent().getStringExtra("animeTitle");
         textTitle.setText(animeTitle);
 
-        // Configurer Retrofit (même code de baseUrl et converter que MainActivity)
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("https://api.jikan.moe/v4/")
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-        JikanApi api = retrofit.create(JikanApi.class);
+        // Client Jikan partagé (cache, limite de débit et connexions communs avec la partie manga)
+        JikanApi api = NetworkModule.getAnimeJikanApi();
 
         // Appeler endpoint /anime/{id}/episodes
         api.getAnimeEpisodes(animeId).enqueue(new Callback<EpisodeResponse>() {
@@ -18,6 +18,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.myapplication1.R;
+import com.example.myapplication1.data.network.NetworkModule;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,8 +26,6 @@ import java.util.List;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class AnimeMainActivity extends AppCompatActivity {
     private Spinner spinnerGenres;
@@ -75,12 +74,8 @@ public class AnimeMainActivity extends AppCompatActivity {
 
 
 
-        // Initialiser Retrofit pour Jikan API
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("https://api.jikan.moe/v4/")
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-        JikanApi api = retrofit.create(JikanApi.class);
+        // Client Jikan partagé (cache, limite de débit et connexions communs avec la partie manga)
+        JikanApi api = NetworkModule.getAnimeJikanApi();
 
         loadMoreButton = findViewById(R.id.loadMoreButton);
         loadMoreButton.setOnClickListener(v -> {
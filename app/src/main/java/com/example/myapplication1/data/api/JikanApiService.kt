@@ -3,6 +3,8 @@ package com.example.myapplication1.data.api
 import com.example.myapplication1.data.model.CharacterEntry
 import com.example.myapplication1.data.model.JikanResponse
 import com.example.myapplication1.data.model.Manga
+import com.example.myapplication1.data.model.MangaSummary
+import kotlinx.serialization.Serializable
 import retrofit2.Response
 import retrofit2.http.GET
 import retrofit2.http.Path
@@ -13,6 +15,8 @@ import retrofit2.http.Query
  * Base URL: https://api.jikan.moe/v4/
  * 
  * Note: Jikan API has rate limiting (3 requests per second for free tier)
+ * 
+ * List endpoints parse into [MangaSummary]; only the detail endpoints build a full [Manga]
  */
 interface JikanApiService {
     
@@ -27,7 +31,7 @@ interface JikanApiService {
         @Query("page") page: Int = 1,
         @Query("limit") limit: Int = 25,
         @Query("filter") filter: String? = null
-    ): Response<JikanResponse<List<Manga>>>
+    ): Response<JikanResponse<List<MangaSummary>>>
     
     /**
      * Search manga by query
@@ -49,7 +53,7 @@ interface JikanApiService {
         @Query("order_by") orderBy: String? = null,
         @Query("sort") sort: String? = null,
         @Query("genres") genres: String? = null
-    ): Response<JikanResponse<List<Manga>>>
+    ): Response<JikanResponse<List<MangaSummary>>>
     
     /**
      * Get manga details by ID
@@ -96,7 +100,7 @@ interface JikanApiService {
         @Query("limit") limit: Int = 25,
         @Query("order_by") orderBy: String = "score",
         @Query("sort") sort: String = "desc"
-    ): Response<JikanResponse<List<Manga>>>
+    ): Response<JikanResponse<List<MangaSummary>>>
     
     /**
      * Get all manga genres
@@ -105,11 +109,13 @@ interface JikanApiService {
     suspend fun getMangaGenres(): Response<JikanResponse<List<GenreInfo>>>
 }
 
+@Serializable
 data class MangaRecommendation(
     val entry: Manga?,
     val votes: Int?
 )
 
+@Serializable
 data class GenreInfo(
     val mal_id: Int,
     val name: String?,
@@ -58,6 +58,7 @@ interface MangaDexApiService {
      * @param offset Pagination offset
      * @param translatedLanguage Language code (e.g., "en")
      * @param order Order by (asc, desc)
+     * @param updatedAtSince Only chapters updated at or after this time (YYYY-MM-DDTHH:MM:SS)
      */
     @GET("manga/{id}/feed")
     suspend fun getMangaChapters(
@@ -66,7 +67,8 @@ interface MangaDexApiService {
         @Query("offset") offset: Int = 0,
         @Query("translatedLanguage[]") translatedLanguage: List<String>? = listOf("en"),
         @Query("order[chapter]") order: String? = "asc",
-        @Query("includes[]") includes: List<String>? = listOf("scanlation_group", "user")
+        @Query("includes[]") includes: List<String>? = listOf("scanlation_group", "user"),
+        @Query("updatedAtSince") updatedAtSince: String? = null
     ): Response<MangaDexResponse<List<MangaDexChapter>>>
     
     /**
@@ -6,24 +6,44 @@ import androidx.room.Room
 import androidx.room.RoomDatabase
 import androidx.room.migration.Migration
 import androidx.sqlite.db.SupportSQLiteDatabase
+import com.example.myapplication1.data.local.dao.ChapterDao
+import com.example.myapplication1.data.local.dao.MangaDexMappingDao
+import com.example.myapplication1.data.local.dao.MangaSearchDao
+import com.example.myapplication1.data.local.dao.ResponseSnapshotDao
 import com.example.myapplication1.data.local.dao.UserDao
 import com.example.myapplication1.data.local.dao.WatchlistDao
+import com.example.myapplication1.data.local.entity.ChapterEntity
+import com.example.myapplication1.data.local.entity.MangaDexMapping
+import com.example.myapplication1.data.local.entity.MangaSearchEntry
+import com.example.myapplication1.data.local.entity.ResponseSnapshot
 import com.example.myapplication1.data.local.entity.User
 import com.example.myapplication1.data.local.entity.WatchlistItem
 
 /**
  * Room Database for the application
- * Manages User and Watchlist data persistence
+ * Manages User and Watchlist data persistence, plus offline snapshots of API responses
+ * MAL -> MangaDex id mappings, chapter lists and the local search index
  */
 @Database(
-    entities = [User::class, WatchlistItem::class],
-    version = 1,
+    entities = [
+        User::class,
+        WatchlistItem::class,
+        ResponseSnapshot::class,
+        MangaDexMapping::class,
+        ChapterEntity::class,
+        MangaSearchEntry::class
+    ],
+    version = 7,
     exportSchema = false
 )
 abstract class AppDatabase : RoomDatabase() {
     
     abstract fun userDao(): UserDao
     abstract fun watchlistDao(): WatchlistDao
+    abstract fun responseSnapshotDao(): ResponseSnapshotDao
+    abstract fun mangaDexMappingDao(): MangaDexMappingDao
+    abstract fun chapterDao(): ChapterDao
+    abstract fun mangaSearchDao(): MangaSearchDao
     
     companion object {
         @Volatile
@@ -38,6 +58,7 @@ abstract class AppDatabase : RoomDatabase() {
                     AppDatabase::class.java,
                     DATABASE_NAME
                 )
+                    .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7)
                     .fallbackToDestructiveMigration() // For development - remove in production
                     .build()
                 INSTANCE = instance
@@ -46,17 +67,81 @@ abstract class AppDatabase : RoomDatabase() {
         }
         
         /**
-         * Migration example (for future schema changes)
-         * Uncomment and modify when you need to update the database schema
+         * 1 -> 2: response snapshot table (keeps users and watchlists intact)
          */
-        /*
         private val MIGRATION_1_2 = object : Migration(1, 2) {
             override fun migrate(database: SupportSQLiteDatabase) {
-                // Add migration SQL here
-                // database.execSQL("ALTER TABLE users ADD COLUMN new_column TEXT")
+                database.execSQL(
+                    "CREATE TABLE IF NOT EXISTS `response_snapshots` (" +
+                        "`cacheKey` TEXT NOT NULL, `payload` TEXT NOT NULL, `fetchedAt` INTEGER NOT NULL, " +
+                        "PRIMARY KEY(`cacheKey`))"
+                )
+            }
+        }
+        
+        /**
+         * 2 -> 3: MAL -> MangaDex id mappings
+         */
+        private val MIGRATION_2_3 = object : Migration(2, 3) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL(
+                    "CREATE TABLE IF NOT EXISTS `mangadex_mappings` (" +
+                        "`malId` INTEGER NOT NULL, `mangaDexId` TEXT NOT NULL, `confidence` REAL NOT NULL, " +
+                        "`resolvedAt` INTEGER NOT NULL, PRIMARY KEY(`malId`))"
+                )
+            }
+        }
+        
+        /**
+         * 3 -> 4: stored chapter lists
+         */
+        private val MIGRATION_3_4 = object : Migration(3, 4) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL(
+                    "CREATE TABLE IF NOT EXISTS `chapters` (" +
+                        "`chapterId` TEXT NOT NULL, `mangaDexId` TEXT NOT NULL, `language` TEXT NOT NULL, " +
+                        "`chapterNumber` REAL, `createdAt` TEXT, `updatedAt` TEXT, `payload` TEXT NOT NULL, " +
+                        "PRIMARY KEY(`chapterId`))"
+                )
+                database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS `index_chapters_mangaDexId_language` " +
+                        "ON `chapters` (`mangaDexId`, `language`)"
+                )
+            }
+        }
+        
+        /**
+         * 4 -> 5: full-text search index
+         */
+        private val MIGRATION_4_5 = object : Migration(4, 5) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL(
+                    "CREATE VIRTUAL TABLE IF NOT EXISTS `manga_search` USING FTS4(" +
+                        "`title` TEXT NOT NULL, `titleEnglish` TEXT NOT NULL, `titleJapanese` TEXT NOT NULL, " +
+                        "`alternativeTitles` TEXT NOT NULL, `authors` TEXT NOT NULL, `summary` TEXT NOT NULL, " +
+                        "tokenize=unicode61, notindexed=`summary`)"
+                )
+            }
+        }
+        
+        /**
+         * 5 -> 6: age of the manga details copied into watchlist items
+         */
+        private val MIGRATION_5_6 = object : Migration(5, 6) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL(
+                    "ALTER TABLE `watchlist` ADD COLUMN `detailsRefreshedAt` INTEGER NOT NULL DEFAULT 0"
+                )
+            }
+        }
+        
+        private val MIGRATION_6_7 = object : Migration(6, 7) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL("ALTER TABLE `chapters` ADD COLUMN `volumeNumber` REAL")
+                // Stored lists have no volumes to order by - the next visit syncs them in full
+                database.execSQL("DELETE FROM `chapters`")
             }
         }
-        */
     }
 }
 
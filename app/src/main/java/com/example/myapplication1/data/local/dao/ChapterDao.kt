@@ -0,0 +1,40 @@
+package com.example.myapplication1.data.local.dao
+
+import androidx.room.*
+import com.example.myapplication1.data.local.entity.ChapterEntity
+
+/**
+ * Data Access Object for stored chapter lists
+ */
+@Dao
+interface ChapterDao {
+    
+    /**
+     * Get the stored chapters of a manga in the given languages, in reading order:
+     * by volume, then chapter (numbers that restart per volume stay together),
+     * unnumbered ones last - as the feed's order[chapter]=asc lists them
+     */
+    @Query(
+        "SELECT * FROM chapters WHERE mangaDexId = :mangaDexId AND language IN (:languages) " +
+            "ORDER BY volumeNumber IS NULL, volumeNumber ASC, chapterNumber IS NULL, chapterNumber ASC, createdAt ASC"
+    )
+    suspend fun getChapters(mangaDexId: String, languages: List<String>): List<ChapterEntity>
+    
+    /**
+     * Newest updatedAt among the stored chapters - the point to sync from
+     */
+    @Query("SELECT MAX(updatedAt) FROM chapters WHERE mangaDexId = :mangaDexId AND language IN (:languages)")
+    suspend fun getNewestUpdatedAt(mangaDexId: String, languages: List<String>): String?
+    
+    /**
+     * Insert or replace chapters
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertChapters(chapters: List<ChapterEntity>)
+    
+    /**
+     * Delete the stored chapters of a manga
+     */
+    @Query("DELETE FROM chapters WHERE mangaDexId = :mangaDexId")
+    suspend fun deleteChapters(mangaDexId: String)
+}
@@ -0,0 +1,35 @@
+package com.example.myapplication1.data.local.dao
+
+import androidx.room.*
+import com.example.myapplication1.data.local.entity.MangaDexMapping
+
+/**
+ * Data Access Object for MAL -> MangaDex id mappings
+ */
+@Dao
+interface MangaDexMappingDao {
+    
+    /**
+     * Get the mapping for a MAL id
+     */
+    @Query("SELECT * FROM mangadex_mappings WHERE malId = :malId")
+    suspend fun getMapping(malId: Int): MangaDexMapping?
+    
+    /**
+     * Get the mappings that exist for a set of MAL ids
+     */
+    @Query("SELECT * FROM mangadex_mappings WHERE malId IN (:malIds)")
+    suspend fun getMappings(malIds: List<Int>): List<MangaDexMapping>
+    
+    /**
+     * Insert or replace a mapping
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertMapping(mapping: MangaDexMapping)
+    
+    /**
+     * Delete the mapping for a MAL id
+     */
+    @Query("DELETE FROM mangadex_mappings WHERE malId = :malId")
+    suspend fun deleteMapping(malId: Int)
+}
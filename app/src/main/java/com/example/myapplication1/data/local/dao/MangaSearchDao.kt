@@ -0,0 +1,34 @@
+package com.example.myapplication1.data.local.dao
+
+import androidx.room.*
+import com.example.myapplication1.data.local.entity.MangaSearchEntry
+
+/**
+ * Data Access Object for the on-device manga search index
+ */
+@Dao
+interface MangaSearchDao {
+    
+    /**
+     * Entries matching an FTS4 MATCH expression, e.g. `one* piec*`; titles
+     * matching the LIKE pattern [titlePrefix] first, then shorter titles
+     */
+    @Query("""
+        SELECT rowid, * FROM manga_search WHERE manga_search MATCH :match
+        ORDER BY (title LIKE :titlePrefix ESCAPE '\') DESC, length(title) ASC
+        LIMIT :limit
+    """)
+    suspend fun search(match: String, titlePrefix: String, limit: Int): List<MangaSearchEntry>
+    
+    /**
+     * Get the entries for the given MAL ids
+     */
+    @Query("SELECT rowid, * FROM manga_search WHERE rowid IN (:malIds)")
+    suspend fun getEntries(malIds: List<Int>): List<MangaSearchEntry>
+    
+    /**
+     * Insert or replace entries
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertEntries(entries: List<MangaSearchEntry>)
+}
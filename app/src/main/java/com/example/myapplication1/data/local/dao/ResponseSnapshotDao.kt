@@ -0,0 +1,35 @@
+package com.example.myapplication1.data.local.dao
+
+import androidx.room.*
+import com.example.myapplication1.data.local.entity.ResponseSnapshot
+
+/**
+ * Data Access Object for persisted API response snapshots
+ */
+@Dao
+interface ResponseSnapshotDao {
+    
+    /**
+     * Get the snapshot stored under a key
+     */
+    @Query("SELECT * FROM response_snapshots WHERE cacheKey = :cacheKey")
+    suspend fun getSnapshot(cacheKey: String): ResponseSnapshot?
+    
+    /**
+     * Insert or replace a snapshot
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertSnapshot(snapshot: ResponseSnapshot)
+    
+    /**
+     * Mark an unchanged snapshot as revalidated
+     */
+    @Query("UPDATE response_snapshots SET fetchedAt = :fetchedAt WHERE cacheKey = :cacheKey")
+    suspend fun touchSnapshot(cacheKey: String, fetchedAt: Long)
+    
+    /**
+     * Delete snapshots not revalidated since the cutoff
+     */
+    @Query("DELETE FROM response_snapshots WHERE fetchedAt < :cutoff")
+    suspend fun deleteSnapshotsOlderThan(cutoff: Long)
+}
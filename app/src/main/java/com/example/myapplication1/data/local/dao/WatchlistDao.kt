@@ -59,6 +59,12 @@ interface WatchlistDao {
     @Update
     suspend fun updateWatchlistItem(item: WatchlistItem)
     
+    /**
+     * Update multiple watchlist items in one transaction
+     */
+    @Update
+    suspend fun updateWatchlistItems(items: List<WatchlistItem>)
+    
     /**
      * Delete watchlist item
      */
@@ -0,0 +1,27 @@
+package com.example.myapplication1.data.local.entity
+
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * ChapterEntity for Room Database
+ * Stored MangaDex chapter metadata, per manga and translated language.
+ * The full chapter is kept as JSON; the columns are what queries need.
+ */
+@Entity(
+    tableName = "chapters",
+    indices = [
+        Index(value = ["mangaDexId", "language"])
+    ]
+)
+data class ChapterEntity(
+    @PrimaryKey val chapterId: String,
+    val mangaDexId: String,
+    val language: String,
+    val volumeNumber: Double?, // null when the chapter has no volume yet
+    val chapterNumber: Double?, // null for oneshots and unnumbered extras
+    val createdAt: String?,
+    val updatedAt: String?, // ISO-8601, compares lexically
+    val payload: String
+)
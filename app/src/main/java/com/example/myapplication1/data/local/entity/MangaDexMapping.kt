@@ -0,0 +1,17 @@
+package com.example.myapplication1.data.local.entity
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * MangaDexMapping Entity for Room Database
+ * Which MangaDex manga a MAL (Jikan) entry resolved to, so "Read" can skip
+ * the title search next time
+ */
+@Entity(tableName = "mangadex_mappings")
+data class MangaDexMapping(
+    @PrimaryKey val malId: Int,
+    val mangaDexId: String,
+    val confidence: Double, // 1.0 = MangaDex links back to this MAL id, lower = title match only
+    val resolvedAt: Long = System.currentTimeMillis()
+)
@@ -0,0 +1,24 @@
+package com.example.myapplication1.data.local.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Fts4
+import androidx.room.FtsOptions
+import androidx.room.PrimaryKey
+
+/**
+ * MangaSearchEntry for Room Database
+ * Full-text index row for a manga the app has seen, keyed by MAL id (the FTS rowid).
+ * The summary is kept as JSON so a hit renders without the network; it is not indexed.
+ */
+@Fts4(tokenizer = FtsOptions.TOKENIZER_UNICODE61, notIndexed = ["summary"])
+@Entity(tableName = "manga_search")
+data class MangaSearchEntry(
+    @PrimaryKey @ColumnInfo(name = "rowid") val malId: Int,
+    val title: String,
+    val titleEnglish: String,
+    val titleJapanese: String,
+    val alternativeTitles: String, // Space separated
+    val authors: String, // Space separated
+    val summary: String
+)
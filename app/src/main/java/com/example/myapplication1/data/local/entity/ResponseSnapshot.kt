@@ -0,0 +1,16 @@
+package com.example.myapplication1.data.local.entity
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * ResponseSnapshot Entity for Room Database
+ * Last good API response for a list or detail screen, stored as JSON so the
+ * screen can paint from disk before (or without) the network
+ */
+@Entity(tableName = "response_snapshots")
+data class ResponseSnapshot(
+    @PrimaryKey val cacheKey: String, // e.g. "top:bypopularity:1", "manga:13"
+    val payload: String,
+    val fetchedAt: Long = System.currentTimeMillis()
+)
@@ -1,5 +1,6 @@
 package com.example.myapplication1.data.local.entity
 
+import androidx.room.ColumnInfo
 import androidx.room.Entity
 import androidx.room.ForeignKey
 import androidx.room.Index
@@ -9,6 +10,8 @@ import androidx.room.PrimaryKey
  * WatchlistItem Entity for Room Database
  * Stores manga items in user's watchlist
  * Each user has their own watchlist (one-to-many relationship)
+ * Title, image, synopsis and score are copies of the manga details, enough to
+ * render the watchlist without the network; detailsRefreshedAt says how old they are.
  */
 @Entity(
     tableName = "watchlist",
@@ -34,6 +37,7 @@ data class WatchlistItem(
     val mangaImageUrl: String?,
     val mangaSynopsis: String?,
     val mangaScore: Double?,
-    val addedAt: Long = System.currentTimeMillis()
+    val addedAt: Long = System.currentTimeMillis(),
+    @ColumnInfo(defaultValue = "0") val detailsRefreshedAt: Long = 0
 )
 
@@ -1,6 +1,17 @@
 package com.example.myapplication1.data.model
 
-import com.google.gson.annotations.SerializedName
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.builtins.MapSerializer
+import kotlinx.serialization.builtins.serializer
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.encoding.Decoder
+import kotlinx.serialization.encoding.Encoder
+import kotlinx.serialization.json.JsonDecoder
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
 
 /**
  * MangaDex API Response Models
@@ -8,117 +19,161 @@ import com.google.gson.annotations.SerializedName
  */
 
 // Base response wrapper
+@Serializable
 data class MangaDexResponse<T>(
-    @SerializedName("result") val result: String,
-    @SerializedName("response") val response: String,
-    @SerializedName("data") val data: T,
-    @SerializedName("limit") val limit: Int? = null,
-    @SerializedName("offset") val offset: Int? = null,
-    @SerializedName("total") val total: Int? = null
+    @SerialName("result") val result: String,
+    @SerialName("response") val response: String,
+    @SerialName("data") val data: T,
+    @SerialName("limit") val limit: Int? = null,
+    @SerialName("offset") val offset: Int? = null,
+    @SerialName("total") val total: Int? = null
 )
 
 // Manga model
+@Serializable
 data class MangaDexManga(
-    @SerializedName("id") val id: String,
-    @SerializedName("type") val type: String,
-    @SerializedName("attributes") val attributes: MangaDexMangaAttributes,
-    @SerializedName("relationships") val relationships: List<MangaDexRelationship>? = null
+    @SerialName("id") val id: String,
+    @SerialName("type") val type: String,
+    @SerialName("attributes") val attributes: MangaDexMangaAttributes,
+    @SerialName("relationships") val relationships: List<MangaDexRelationship>? = null
 )
 
+@Serializable
 data class MangaDexMangaAttributes(
-    @SerializedName("title") val title: Map<String, String>?,
-    @SerializedName("altTitles") val altTitles: List<Map<String, String>>?,
-    @SerializedName("description") val description: Map<String, String>?,
-    @SerializedName("isLocked") val isLocked: Boolean?,
-    @SerializedName("links") val links: Map<String, String>?,
-    @SerializedName("originalLanguage") val originalLanguage: String?,
-    @SerializedName("lastVolume") val lastVolume: String?,
-    @SerializedName("lastChapter") val lastChapter: String?,
-    @SerializedName("publicationDemographic") val publicationDemographic: String?,
-    @SerializedName("status") val status: String?,
-    @SerializedName("year") val year: Int?,
-    @SerializedName("contentRating") val contentRating: String?,
-    @SerializedName("tags") val tags: List<MangaDexTag>?,
-    @SerializedName("state") val state: String?,
-    @SerializedName("chapterNumbersResetOnNewVolume") val chapterNumbersResetOnNewVolume: Boolean?,
-    @SerializedName("createdAt") val createdAt: String?,
-    @SerializedName("updatedAt") val updatedAt: String?,
-    @SerializedName("version") val version: Int?
+    @SerialName("title") val title: Map<String, String>?,
+    @SerialName("altTitles") val altTitles: List<Map<String, String>>?,
+    @SerialName("description") @Serializable(with = LocalizedStringMapSerializer::class) val description: Map<String, String>?,
+    @SerialName("isLocked") val isLocked: Boolean?,
+    @SerialName("links") @Serializable(with = LocalizedStringMapSerializer::class) val links: Map<String, String>?,
+    @SerialName("originalLanguage") val originalLanguage: String?,
+    @SerialName("lastVolume") val lastVolume: String?,
+    @SerialName("lastChapter") val lastChapter: String?,
+    @SerialName("publicationDemographic") val publicationDemographic: String?,
+    @SerialName("status") val status: String?,
+    @SerialName("year") val year: Int?,
+    @SerialName("contentRating") val contentRating: String?,
+    @SerialName("tags") val tags: List<MangaDexTag>?,
+    @SerialName("state") val state: String?,
+    @SerialName("chapterNumbersResetOnNewVolume") val chapterNumbersResetOnNewVolume: Boolean?,
+    @SerialName("createdAt") val createdAt: String?,
+    @SerialName("updatedAt") val updatedAt: String?,
+    @SerialName("version") val version: Int?
 )
 
+@Serializable
 data class MangaDexTag(
-    @SerializedName("id") val id: String,
-    @SerializedName("type") val type: String,
-    @SerializedName("attributes") val attributes: MangaDexTagAttributes
+    @SerialName("id") val id: String,
+    @SerialName("type") val type: String,
+    @SerialName("attributes") val attributes: MangaDexTagAttributes
 )
 
+@Serializable
 data class MangaDexTagAttributes(
-    @SerializedName("name") val name: Map<String, String>?,
-    @SerializedName("description") val description: Map<String, String>?,
-    @SerializedName("group") val group: String?,
-    @SerializedName("version") val version: Int?
+    @SerialName("name") val name: Map<String, String>?,
+    @SerialName("description") @Serializable(with = LocalizedStringMapSerializer::class) val description: Map<String, String>?,
+    @SerialName("group") val group: String?,
+    @SerialName("version") val version: Int?
 )
 
+@Serializable
 data class MangaDexRelationship(
-    @SerializedName("id") val id: String,
-    @SerializedName("type") val type: String,
-    @SerializedName("attributes") val attributes: MangaDexRelationshipAttributes? = null
+    @SerialName("id") val id: String,
+    @SerialName("type") val type: String,
+    @SerialName("attributes") val attributes: MangaDexRelationshipAttributes? = null
 )
 
+@Serializable
 data class MangaDexRelationshipAttributes(
-    @SerializedName("fileName") val fileName: String?,
-    @SerializedName("locale") val locale: String?,
-    @SerializedName("description") val description: String?,
-    @SerializedName("volume") val volume: String?,
-    @SerializedName("chapter") val chapter: String?,
-    @SerializedName("title") val title: String?
+    @SerialName("fileName") val fileName: String?,
+    @SerialName("locale") val locale: String?,
+    @SerialName("description") val description: String?,
+    @SerialName("volume") val volume: String?,
+    @SerialName("chapter") val chapter: String?,
+    @SerialName("title") val title: String?
 )
 
 // Chapter model
+@Serializable
 data class MangaDexChapter(
-    @SerializedName("id") val id: String,
-    @SerializedName("type") val type: String,
-    @SerializedName("attributes") val attributes: MangaDexChapterAttributes,
-    @SerializedName("relationships") val relationships: List<MangaDexRelationship>? = null
+    @SerialName("id") val id: String,
+    @SerialName("type") val type: String,
+    @SerialName("attributes") val attributes: MangaDexChapterAttributes,
+    @SerialName("relationships") val relationships: List<MangaDexRelationship>? = null
 )
 
+@Serializable
 data class MangaDexChapterAttributes(
-    @SerializedName("volume") val volume: String?,
-    @SerializedName("chapter") val chapter: String?,
-    @SerializedName("title") val title: String?,
-    @SerializedName("translatedLanguage") val translatedLanguage: String?,
-    @SerializedName("externalUrl") val externalUrl: String?,
-    @SerializedName("publishAt") val publishAt: String?,
-    @SerializedName("readableAt") val readableAt: String?,
-    @SerializedName("createdAt") val createdAt: String?,
-    @SerializedName("updatedAt") val updatedAt: String?,
-    @SerializedName("pages") val pages: Int?,
-    @SerializedName("version") val version: Int?
+    @SerialName("volume") val volume: String?,
+    @SerialName("chapter") val chapter: String?,
+    @SerialName("title") val title: String?,
+    @SerialName("translatedLanguage") val translatedLanguage: String?,
+    @SerialName("externalUrl") val externalUrl: String?,
+    @SerialName("publishAt") val publishAt: String?,
+    @SerialName("readableAt") val readableAt: String?,
+    @SerialName("createdAt") val createdAt: String?,
+    @SerialName("updatedAt") val updatedAt: String?,
+    @SerialName("pages") val pages: Int?,
+    @SerialName("version") val version: Int?
+)
+
+/**
+ * One page of a manga's chapter feed, as streamed by the feed loader
+ * @param offset Feed offset of the first chapter in [chapters]
+ * @param total Chapters in the whole feed
+ */
+data class ChapterFeedPage(
+    val offset: Int,
+    val chapters: List<MangaDexChapter>,
+    val total: Int
 )
 
 // Chapter pages
+@Serializable
 data class MangaDexChapterPages(
-    @SerializedName("result") val result: String,
-    @SerializedName("baseUrl") val baseUrl: String,
-    @SerializedName("chapter") val chapter: MangaDexChapterData
+    @SerialName("result") val result: String,
+    @SerialName("baseUrl") val baseUrl: String,
+    @SerialName("chapter") val chapter: MangaDexChapterData
 )
 
+@Serializable
 data class MangaDexChapterData(
-    @SerializedName("hash") val hash: String,
-    @SerializedName("data") val data: List<String>,
-    @SerializedName("dataSaver") val dataSaver: List<String>? = null
+    @SerialName("hash") val hash: String,
+    @SerialName("data") val data: List<String>,
+    @SerialName("dataSaver") val dataSaver: List<String>? = null
 )
 
 // Tag list response
+@Serializable
 data class MangaDexTagList(
-    @SerializedName("result") val result: String,
-    @SerializedName("response") val response: String,
-    @SerializedName("data") val data: List<MangaDexTag>,
-    @SerializedName("limit") val limit: Int?,
-    @SerializedName("offset") val offset: Int?,
-    @SerializedName("total") val total: Int?
+    @SerialName("result") val result: String,
+    @SerialName("response") val response: String,
+    @SerialName("data") val data: List<MangaDexTag>,
+    @SerialName("limit") val limit: Int?,
+    @SerialName("offset") val offset: Int?,
+    @SerialName("total") val total: Int?
 )
 
+/**
+ * MangaDex sends empty localized maps as `[]` instead of `{}` - decode those as an empty map
+ */
+object LocalizedStringMapSerializer : KSerializer<Map<String, String>> {
+    private val delegate = MapSerializer(String.serializer(), String.serializer())
+
+    override val descriptor: SerialDescriptor = delegate.descriptor
+
+    override fun deserialize(decoder: Decoder): Map<String, String> {
+        val input = decoder as? JsonDecoder ?: return delegate.deserialize(decoder)
+        val element = input.decodeJsonElement() as? JsonObject ?: return emptyMap()
+        return element.mapNotNull { (key, value) ->
+            (value as? JsonPrimitive)?.takeIf { it !is JsonNull }?.let { key to it.content }
+        }.toMap()
+    }
+
+    override fun serialize(encoder: Encoder, value: Map<String, String>) {
+        delegate.serialize(encoder, value)
+    }
+}
+
 // Extension functions for convenience
 fun MangaDexManga.getTitle(): String {
     return attributes.title?.get("en") 
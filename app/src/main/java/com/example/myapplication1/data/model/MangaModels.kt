@@ -1,6 +1,7 @@
 package com.example.myapplication1.data.model
 
-import com.google.gson.annotations.SerializedName
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
 
 /**
  * Jikan API Response Models
@@ -11,120 +12,162 @@ import com.google.gson.annotations.SerializedName
  */
 
 // Base response wrapper
+@Serializable
 data class JikanResponse<T>(
-    @SerializedName("data") val data: T,
-    @SerializedName("pagination") val pagination: Pagination? = null
+    @SerialName("data") val data: T,
+    @SerialName("pagination") val pagination: Pagination? = null
 )
 
+@Serializable
 data class Pagination(
-    @SerializedName("last_visible_page") val lastVisiblePage: Int,
-    @SerializedName("has_next_page") val hasNextPage: Boolean,
-    @SerializedName("current_page") val currentPage: Int,
-    @SerializedName("items") val items: PaginationItems? = null
+    @SerialName("last_visible_page") val lastVisiblePage: Int,
+    @SerialName("has_next_page") val hasNextPage: Boolean,
+    @SerialName("current_page") val currentPage: Int,
+    @SerialName("items") val items: PaginationItems? = null
 )
 
+@Serializable
 data class PaginationItems(
-    @SerializedName("count") val count: Int,
-    @SerializedName("total") val total: Int,
-    @SerializedName("per_page") val perPage: Int
+    @SerialName("count") val count: Int,
+    @SerialName("total") val total: Int,
+    @SerialName("per_page") val perPage: Int
 )
 
 // Manga model
+@Serializable
 data class Manga(
-    @SerializedName("mal_id") val malId: Int,
-    @SerializedName("url") val url: String?,
-    @SerializedName("images") val images: MangaImages?,
-    @SerializedName("approved") val approved: Boolean?,
-    @SerializedName("titles") val titles: List<MangaTitle>?,
-    @SerializedName("title") val title: String,
-    @SerializedName("title_english") val titleEnglish: String?,
-    @SerializedName("title_japanese") val titleJapanese: String?,
-    @SerializedName("type") val type: String?,
-    @SerializedName("chapters") val chapters: Int?,
-    @SerializedName("volumes") val volumes: Int?,
-    @SerializedName("status") val status: String?,
-    @SerializedName("publishing") val publishing: Boolean?,
-    @SerializedName("published") val published: Published?,
-    @SerializedName("score") val score: Double?,
-    @SerializedName("scored_by") val scoredBy: Int?,
-    @SerializedName("rank") val rank: Int?,
-    @SerializedName("popularity") val popularity: Int?,
-    @SerializedName("members") val members: Int?,
-    @SerializedName("favorites") val favorites: Int?,
-    @SerializedName("synopsis") val synopsis: String?,
-    @SerializedName("background") val background: String?,
-    @SerializedName("authors") val authors: List<MangaAuthor>?,
-    @SerializedName("serializations") val serializations: List<MangaSerialization>?,
-    @SerializedName("genres") val genres: List<MangaGenre>?,
-    @SerializedName("themes") val themes: List<MangaGenre>?,
-    @SerializedName("demographics") val demographics: List<MangaGenre>?
+    @SerialName("mal_id") val malId: Int,
+    @SerialName("url") val url: String?,
+    @SerialName("images") val images: MangaImages?,
+    @SerialName("approved") val approved: Boolean?,
+    @SerialName("titles") val titles: List<MangaTitle>?,
+    @SerialName("title") val title: String,
+    @SerialName("title_english") val titleEnglish: String?,
+    @SerialName("title_japanese") val titleJapanese: String?,
+    @SerialName("type") val type: String?,
+    @SerialName("chapters") val chapters: Int?,
+    @SerialName("volumes") val volumes: Int?,
+    @SerialName("status") val status: String?,
+    @SerialName("publishing") val publishing: Boolean?,
+    @SerialName("published") val published: Published?,
+    @SerialName("score") val score: Double?,
+    @SerialName("scored_by") val scoredBy: Int?,
+    @SerialName("rank") val rank: Int?,
+    @SerialName("popularity") val popularity: Int?,
+    @SerialName("members") val members: Int?,
+    @SerialName("favorites") val favorites: Int?,
+    @SerialName("synopsis") val synopsis: String?,
+    @SerialName("background") val background: String?,
+    @SerialName("authors") val authors: List<MangaAuthor>?,
+    @SerialName("serializations") val serializations: List<MangaSerialization>?,
+    @SerialName("genres") val genres: List<MangaGenre>?,
+    @SerialName("themes") val themes: List<MangaGenre>?,
+    @SerialName("demographics") val demographics: List<MangaGenre>?
 )
 
+/**
+ * List projection of [Manga] for top/search/genre pages
+ *
+ * Only what a card or list row shows. Everything else in the payload
+ * (synopsis, background, titles, authors, serializations, themes, ...) is
+ * skipped by the parser token by token and never materialized; the full
+ * [Manga] is only loaded on the detail path.
+ */
+@Serializable
+data class MangaSummary(
+    @SerialName("mal_id") val malId: Int,
+    @SerialName("images") val images: MangaImages? = null,
+    @SerialName("title") val title: String,
+    @SerialName("title_english") val titleEnglish: String? = null,
+    @SerialName("type") val type: String? = null,
+    @SerialName("chapters") val chapters: Int? = null,
+    @SerialName("status") val status: String? = null,
+    @SerialName("score") val score: Double? = null,
+    @SerialName("scored_by") val scoredBy: Int? = null,
+    @SerialName("genres") val genres: List<GenreName>? = null
+)
+
+@Serializable
+data class GenreName(
+    @SerialName("name") val name: String?
+)
+
+@Serializable
 data class MangaImages(
-    @SerializedName("jpg") val jpg: ImageUrls?,
-    @SerializedName("webp") val webp: ImageUrls?
+    @SerialName("jpg") val jpg: ImageUrls?,
+    @SerialName("webp") val webp: ImageUrls?
 )
 
+@Serializable
 data class ImageUrls(
-    @SerializedName("image_url") val imageUrl: String?,
-    @SerializedName("small_image_url") val smallImageUrl: String?,
-    @SerializedName("large_image_url") val largeImageUrl: String?
+    @SerialName("image_url") val imageUrl: String?,
+    @SerialName("small_image_url") val smallImageUrl: String?,
+    @SerialName("large_image_url") val largeImageUrl: String?
 )
 
+@Serializable
 data class MangaTitle(
-    @SerializedName("type") val type: String?,
-    @SerializedName("title") val title: String?
+    @SerialName("type") val type: String?,
+    @SerialName("title") val title: String?
 )
 
+@Serializable
 data class Published(
-    @SerializedName("from") val from: String?,
-    @SerializedName("to") val to: String?,
-    @SerializedName("string") val string: String?
+    @SerialName("from") val from: String?,
+    @SerialName("to") val to: String?,
+    @SerialName("string") val string: String?
 )
 
+@Serializable
 data class MangaAuthor(
-    @SerializedName("mal_id") val malId: Int,
-    @SerializedName("type") val type: String?,
-    @SerializedName("name") val name: String?,
-    @SerializedName("url") val url: String?
+    @SerialName("mal_id") val malId: Int,
+    @SerialName("type") val type: String?,
+    @SerialName("name") val name: String?,
+    @SerialName("url") val url: String?
 )
 
+@Serializable
 data class MangaSerialization(
-    @SerializedName("mal_id") val malId: Int,
-    @SerializedName("type") val type: String?,
-    @SerializedName("name") val name: String?,
-    @SerializedName("url") val url: String?
+    @SerialName("mal_id") val malId: Int,
+    @SerialName("type") val type: String?,
+    @SerialName("name") val name: String?,
+    @SerialName("url") val url: String?
 )
 
+@Serializable
 data class MangaGenre(
-    @SerializedName("mal_id") val malId: Int,
-    @SerializedName("type") val type: String?,
-    @SerializedName("name") val name: String?,
-    @SerializedName("url") val url: String?
+    @SerialName("mal_id") val malId: Int,
+    @SerialName("type") val type: String?,
+    @SerialName("name") val name: String?,
+    @SerialName("url") val url: String?
 )
 
 // Character model
+@Serializable
 data class Character(
-    @SerializedName("mal_id") val malId: Int,
-    @SerializedName("url") val url: String?,
-    @SerializedName("images") val images: CharacterImages?,
-    @SerializedName("name") val name: String?,
-    @SerializedName("role") val role: String?
+    @SerialName("mal_id") val malId: Int,
+    @SerialName("url") val url: String?,
+    @SerialName("images") val images: CharacterImages?,
+    @SerialName("name") val name: String?,
+    @SerialName("role") val role: String?
 )
 
+@Serializable
 data class CharacterImages(
-    @SerializedName("jpg") val jpg: CharacterImageUrls?,
-    @SerializedName("webp") val webp: CharacterImageUrls?
+    @SerialName("jpg") val jpg: CharacterImageUrls?,
+    @SerialName("webp") val webp: CharacterImageUrls?
 )
 
+@Serializable
 data class CharacterImageUrls(
-    @SerializedName("image_url") val imageUrl: String?,
-    @SerializedName("small_image_url") val smallImageUrl: String?
+    @SerialName("image_url") val imageUrl: String?,
+    @SerialName("small_image_url") val smallImageUrl: String?
 )
 
+@Serializable
 data class CharacterEntry(
-    @SerializedName("character") val character: Character?,
-    @SerializedName("role") val role: String?
+    @SerialName("character") val character: Character?,
+    @SerialName("role") val role: String?
 )
 
 // Extension functions for convenience
@@ -154,13 +197,53 @@ fun Manga.getAuthorNames(): List<String> {
     return authors?.mapNotNull { it.name } ?: emptyList()
 }
 
+fun MangaSummary.getImageUrl(): String? {
+    return images?.jpg?.largeImageUrl 
+        ?: images?.jpg?.imageUrl 
+        ?: images?.webp?.largeImageUrl 
+        ?: images?.webp?.imageUrl
+}
+
+fun MangaSummary.getDisplayTitle(): String {
+    return titleEnglish ?: title
+}
+
+fun MangaSummary.getGenreNames(): List<String> {
+    return genres?.mapNotNull { it.name } ?: emptyList()
+}
+
+/**
+ * Drop a loaded [Manga] down to what list screens keep around
+ */
+fun Manga.toSummary(): MangaSummary {
+    return MangaSummary(
+        malId = malId,
+        images = images,
+        title = title,
+        titleEnglish = titleEnglish,
+        type = type,
+        chapters = chapters,
+        status = status,
+        score = score,
+        scoredBy = scoredBy,
+        genres = genres?.map { GenreName(it.name) }
+    )
+}
+
 // ========== Content Filtering (from MyApplication1) ==========
 
 /**
  * Check if manga has Hentai genre - filters out adult content
  */
 fun Manga.hasHentaiGenre(): Boolean {
-    val genreNames = getGenreNames()
+    return hasHentaiGenre(getGenreNames())
+}
+
+fun MangaSummary.hasHentaiGenre(): Boolean {
+    return hasHentaiGenre(getGenreNames())
+}
+
+private fun hasHentaiGenre(genreNames: List<String>): Boolean {
     val hentaiKeywords = listOf(
         "Hentai",
         "Erotica",
@@ -184,3 +267,7 @@ fun List<Manga>.filterHentai(): List<Manga> {
     return this.filter { !it.hasHentaiGenre() }
 }
 
+@JvmName("filterHentaiSummaries")
+fun List<MangaSummary>.filterHentai(): List<MangaSummary> {
+    return this.filter { !it.hasHentaiGenre() }
+}
@@ -0,0 +1,138 @@
+package com.example.myapplication1.data.network
+
+import okhttp3.CacheControl
+import okhttp3.HttpUrl
+import okhttp3.Interceptor
+import okhttp3.Response
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+/**
+ * HTTP Cache Policy - per-endpoint freshness rules for the shared OkHttp disk cache
+ *
+ * Jikan and MangaDex don't send cache headers that match how often their data
+ * actually changes, so the freshness is decided here per endpoint family and
+ * written onto the cached response. While an entry is fresh OkHttp answers from
+ * disk without touching the network (and without spending rate-limit budget).
+ */
+object HttpCachePolicy {
+
+    /**
+     * Freshness rule for one endpoint family
+     * @param pattern Matched against the encoded URL path
+     * @param maxAgeSeconds How long a response is served from cache without revalidation
+     * @param staleIfErrorSeconds How long an expired response may still be served when the network fails (0 = never)
+     */
+    data class Rule(
+        val name: String,
+        val pattern: Regex,
+        val maxAgeSeconds: Long,
+        val staleIfErrorSeconds: Long = 0
+    )
+
+    /** Cache directory name under Context.cacheDir */
+    const val CACHE_DIR_NAME = "http_cache"
+
+    /** Disk cache size limit shared by the Jikan and MangaDex clients */
+    const val CACHE_SIZE_BYTES = 50L * 1024 * 1024 // 50 MB
+
+    private const val ERROR_BODY_PEEK_BYTES = 64L * 1024
+
+    private val MINUTE = TimeUnit.MINUTES.toSeconds(1)
+    private val HOUR = TimeUnit.HOURS.toSeconds(1)
+    private val DAY = TimeUnit.DAYS.toSeconds(1)
+
+    val rules: List<Rule> = listOf(
+        // Jikan genres lists - practically static
+        Rule("genres/manga", Regex("(^|/)genres/manga$"), maxAgeSeconds = 3 * DAY, staleIfErrorSeconds = 30 * DAY),
+        Rule("genres/anime", Regex("(^|/)genres/anime$"), maxAgeSeconds = 3 * DAY, staleIfErrorSeconds = 30 * DAY),
+        // MangaDex tag list - practically static
+        Rule("manga/tag", Regex("^/manga/tag$"), maxAgeSeconds = 3 * DAY, staleIfErrorSeconds = 30 * DAY),
+        // Jikan rankings - refreshed server side a few times a day
+        Rule("top/manga", Regex("(^|/)top/manga$"), maxAgeSeconds = 10 * MINUTE, staleIfErrorSeconds = DAY),
+        Rule("top/anime", Regex("(^|/)top/anime$"), maxAgeSeconds = 10 * MINUTE, staleIfErrorSeconds = DAY),
+        // Jikan full details - stats move slowly
+        Rule("manga/{id}/full", Regex("(^|/)manga/\\d+/full$"), maxAgeSeconds = 6 * HOUR, staleIfErrorSeconds = 7 * DAY)
+    )
+
+    /**
+     * Find the rule for a URL, or null if the endpoint is not cached
+     */
+    fun ruleFor(url: HttpUrl): Rule? {
+        val path = url.encodedPath
+        return rules.firstOrNull { it.pattern.containsMatchIn(path) }
+    }
+
+    /**
+     * Network interceptor - rewrites Cache-Control on successful GET responses
+     * so the disk cache stores them with our freshness instead of the server's
+     */
+    val freshnessInterceptor = Interceptor { chain ->
+        val request = chain.request()
+        val response = chain.proceed(request)
+        val rule = ruleFor(request.url)
+
+        if (rule == null || request.method != "GET" || !response.isSuccessful) {
+            response
+        } else {
+            response.newBuilder()
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .header("Cache-Control", "public, max-age=${rule.maxAgeSeconds}")
+                .build()
+        }
+    }
+
+    /**
+     * Application interceptor - serves an expired cached response when the
+     * network call fails (IOException or 5xx) and the rule allows stale-if-error
+     */
+    val staleIfErrorInterceptor = Interceptor { chain ->
+        val request = chain.request()
+        val rule = ruleFor(request.url)
+
+        if (rule == null || rule.staleIfErrorSeconds <= 0 || request.method != "GET") {
+            return@Interceptor chain.proceed(request)
+        }
+
+        val response = try {
+            chain.proceed(request)
+        } catch (e: IOException) {
+            return@Interceptor staleResponse(chain, rule) ?: throw e
+        }
+
+        if (response.code < 500) {
+            return@Interceptor response
+        }
+
+        // Keep a copy of the error body - the original must be closed before the cache lookup
+        val failed = response.newBuilder()
+            .body(response.peekBody(ERROR_BODY_PEEK_BYTES))
+            .build()
+        response.close()
+        staleResponse(chain, rule) ?: failed
+    }
+
+    private fun staleResponse(chain: Interceptor.Chain, rule: Rule): Response? {
+        val cacheOnly = chain.request().newBuilder()
+            .cacheControl(
+                CacheControl.Builder()
+                    .onlyIfCached()
+                    .maxStale(rule.staleIfErrorSeconds.toInt(), TimeUnit.SECONDS)
+                    .build()
+            )
+            .build()
+        return try {
+            val response = chain.proceed(cacheOnly)
+            // OkHttp answers 504 when only-if-cached has nothing usable
+            if (response.code == 504) {
+                response.close()
+                null
+            } else {
+                response
+            }
+        } catch (e: IOException) {
+            null
+        }
+    }
+}
@@ -1,132 +1,88 @@
 package com.example.myapplication1.data.network
 
+import android.content.Context
 import android.util.Log
-import okhttp3.Interceptor
+import com.example.myapplication1.anime.JikanApi
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import okhttp3.Cache
+import okhttp3.Call
 import okhttp3.OkHttpClient
-import okhttp3.logging.HttpLoggingInterceptor
-import okio.Buffer
 import retrofit2.Response
 import retrofit2.Retrofit
 import retrofit2.converter.gson.GsonConverterFactory
+import java.io.File
 import java.util.concurrent.TimeUnit
 
 /**
  * Network Module - Singleton for Retrofit and OkHttp configuration
  * 
  * Implements proper error handling with X-Request-ID logging as recommended
- * by MangaDex security guidelines.
+ * by MangaDex security guidelines. Failed calls are logged and every call is
+ * timed by NetworkTelemetry.
  */
 object NetworkModule {
     
-    private const val TAG = "MangaNetwork"
     private const val JIKAN_BASE_URL = "https://api.jikan.moe/v4/"
     private const val MANGADEX_BASE_URL = "https://api.mangadex.org/"
     
+    @Volatile
+    private var cacheDir: File? = null
+    
     /**
-     * MangaDex-specific interceptor with proper error handling as per security guidelines
-     * Logs X-Request-ID, request body, and response body for errors
-     */
-    private val mangadexErrorInterceptor = Interceptor { chain ->
-        val request = chain.request()
-        val requestBody = request.body?.let { body ->
-            try {
-                val buffer = Buffer()
-                body.writeTo(buffer)
-                buffer.readUtf8()
-            } catch (e: Exception) {
-                "Unable to read request body: ${e.message}"
-            }
-        } ?: "No request body"
-        
-        val response = chain.proceed(request)
-        val requestId = response.header("X-Request-ID") ?: "N/A"
-        
-        if (response.code >= 400) {
-            val responseBody = try {
-                val peekBody = response.peekBody(2048L) // Peek up to 2KB without consuming
-                peekBody.string()
-            } catch (e: Exception) {
-                "Error reading response: ${e.message}"
-            }
-            
-            Log.e(TAG, """
-                |
-                |══════════════════════════════════════════════════════════════
-                |MANGADEX API ERROR
-                |══════════════════════════════════════════════════════════════
-                |Request ID: $requestId
-                |Status: ${response.code} ${response.message}
-                |URL: ${request.url}
-                |Method: ${request.method}
-                |
-                |Request:
-                |$requestBody
-                |
-                |Response:
-                |$responseBody
-                |══════════════════════════════════════════════════════════════
-            """.trimMargin())
-        } else {
-            Log.d(TAG, "MangaDex request successful - ID: $requestId, URL: ${request.url}")
-        }
-        
-        response
+     * Initialize with the application context so the HTTP disk cache can be created.
+     * Must be called before the first request (see MangaApplication.onCreate);
+     * without it the clients simply run uncached.
+     */
+    fun init(context: Context) {
+        cacheDir = File(context.applicationContext.cacheDir, HttpCachePolicy.CACHE_DIR_NAME)
     }
     
     /**
-     * General interceptor for logging request/response with X-Request-ID
+     * Shared disk cache for Jikan and MangaDex responses.
+     * One Cache instance per directory - both clients must use this one.
      */
-    private val requestIdInterceptor = Interceptor { chain ->
-        val request = chain.request()
-        val response = chain.proceed(request)
-        
-        // Log X-Request-ID for debugging as recommended
-        val requestId = response.header("X-Request-ID") ?: "N/A"
-        
-        if (!response.isSuccessful) {
-            Log.e(TAG, """
-                |
-                |══════════════════════════════════════════════════════════════
-                |REQUEST FAILED
-                |══════════════════════════════════════════════════════════════
-                |Request ID: $requestId
-                |Status: ${response.code} ${response.message}
-                |URL: ${request.url}
-                |Method: ${request.method}
-                |Request Headers: ${request.headers}
-                |══════════════════════════════════════════════════════════════
-            """.trimMargin())
-        } else {
-            Log.d(TAG, "Request successful - ID: $requestId, URL: ${request.url}")
-        }
-        
-        response
+    private val httpCache: Cache? by lazy {
+        cacheDir?.let { Cache(it, HttpCachePolicy.CACHE_SIZE_BYTES) }
     }
     
     /**
-     * Rate limiting interceptor for Jikan API (3 requests per second limit)
+     * Background scope for calls waiting on a rate limit permit or retry backoff
      */
-    private val rateLimitInterceptor = Interceptor { chain ->
-        // Simple rate limiting - wait a bit between requests
-        Thread.sleep(350) // ~3 requests per second max
-        chain.proceed(chain.request())
-    }
+    private val limiterScope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
     
     /**
-     * Logging interceptor for debug builds
+     * Jikan rate limiter (3 requests/second and 60 requests/minute)
      */
-    private val loggingInterceptor = HttpLoggingInterceptor().apply {
-        level = HttpLoggingInterceptor.Level.BASIC
-    }
+    val jikanRateLimiter: RateLimiter by lazy { RateLimiter.jikan() }
+    
+    /**
+     * MangaDex rate limiter (5 requests/second)
+     */
+    val mangadexRateLimiter: RateLimiter by lazy { RateLimiter.mangadex() }
+    
+    /**
+     * Priority lanes for Jikan calls (see RequestPriority)
+     */
+    val jikanScheduler = RequestScheduler()
+    
+    /**
+     * Retry policy shared by both APIs - one global retry budget
+     */
+    private val retryPolicy = RetryPolicy()
     
     /**
      * OkHttp client for Jikan API
      */
     private val jikanOkHttpClient: OkHttpClient by lazy {
         OkHttpClient.Builder()
-            .addInterceptor(rateLimitInterceptor)
-            .addInterceptor(requestIdInterceptor)
-            .addInterceptor(loggingInterceptor)
+            .cache(httpCache)
+            .addInterceptor(HttpCachePolicy.staleIfErrorInterceptor)
+            .addInterceptor(NetworkTelemetry.failureInterceptor("Jikan"))
+            .addNetworkInterceptor(HttpCachePolicy.freshnessInterceptor)
+            .eventListenerFactory(NetworkTelemetry.eventListenerFactory)
             .connectTimeout(30, TimeUnit.SECONDS)
             .readTimeout(30, TimeUnit.SECONDS)
             .writeTimeout(30, TimeUnit.SECONDS)
@@ -138,8 +94,11 @@ object NetworkModule {
      */
     private val mangadexOkHttpClient: OkHttpClient by lazy {
         OkHttpClient.Builder()
-            .addInterceptor(mangadexErrorInterceptor)
-            .addInterceptor(loggingInterceptor)
+            .cache(httpCache)
+            .addInterceptor(HttpCachePolicy.staleIfErrorInterceptor)
+            .addInterceptor(NetworkTelemetry.failureInterceptor("MangaDex"))
+            .addNetworkInterceptor(HttpCachePolicy.freshnessInterceptor)
+            .eventListenerFactory(NetworkTelemetry.eventListenerFactory)
             .connectTimeout(30, TimeUnit.SECONDS)
             .readTimeout(30, TimeUnit.SECONDS)
             .writeTimeout(30, TimeUnit.SECONDS)
@@ -147,24 +106,60 @@ object NetworkModule {
     }
     
     /**
-     * Retrofit instance for Jikan API
+     * Jikan call factory - retries, and waits for a rate limit permit without blocking a thread
+     */
+    private val jikanCallFactory: Call.Factory by lazy {
+        // Retries wrap the limiter, so every attempt pays for its own permit
+        RetryingCallFactory(
+            RateLimitedCallFactory(jikanOkHttpClient, jikanRateLimiter, limiterScope),
+            retryPolicy,
+            limiterScope
+        )
+    }
+    
+    /**
+     * Retrofit instance for Jikan API (generated streaming serializers)
      */
     val jikanRetrofit: Retrofit by lazy {
         Retrofit.Builder()
             .baseUrl(JIKAN_BASE_URL)
-            .client(jikanOkHttpClient)
+            .callFactory(jikanCallFactory)
+            .addConverterFactory(StreamingJsonConverterFactory())
+            .build()
+    }
+    
+    /**
+     * Retrofit instance for Jikan services whose models are Gson POJOs (Java anime module).
+     * Same call factory, so the client, cache and limiter are still shared.
+     */
+    private val jikanGsonRetrofit: Retrofit by lazy {
+        Retrofit.Builder()
+            .baseUrl(JIKAN_BASE_URL)
+            .callFactory(jikanCallFactory)
             .addConverterFactory(GsonConverterFactory.create())
             .build()
     }
     
+    /**
+     * MangaDex call factory with retries, under the MangaDex rate limit
+     * (parallel chapter feed pages must not trip it)
+     */
+    private val mangadexCallFactory: Call.Factory by lazy {
+        RetryingCallFactory(
+            RateLimitedCallFactory(mangadexOkHttpClient, mangadexRateLimiter, limiterScope),
+            retryPolicy,
+            limiterScope
+        )
+    }
+    
     /**
      * Retrofit instance for MangaDex API
      */
     val mangadexRetrofit: Retrofit by lazy {
         Retrofit.Builder()
             .baseUrl(MANGADEX_BASE_URL)
-            .client(mangadexOkHttpClient)
-            .addConverterFactory(GsonConverterFactory.create())
+            .callFactory(mangadexCallFactory)
+            .addConverterFactory(StreamingJsonConverterFactory())
             .build()
     }
     
@@ -175,6 +170,22 @@ object NetworkModule {
         return jikanRetrofit.create(T::class.java)
     }
     
+    /**
+     * Create Jikan API service instance (Java-friendly, Gson models)
+     */
+    @JvmStatic
+    fun <T> createJikanService(service: Class<T>): T {
+        return jikanGsonRetrofit.create(service)
+    }
+    
+    /**
+     * Jikan API for the anime screens, backed by the same client, disk cache,
+     * rate limiter and retry budget as the manga side. Works with plain
+     * Call.enqueue() - callbacks are delivered on the main thread as before.
+     */
+    @JvmStatic
+    val animeJikanApi: JikanApi by lazy { createJikanService(JikanApi::class.java) }
+    
     /**
      * Create MangaDex API service instance
      */
@@ -239,6 +250,9 @@ suspend fun <T> safeApiCall(
                 requestId = requestId
             )
         }
+    } catch (e: CancellationException) {
+        // Cancellation is not a network error - let it reach the caller's scope
+        throw e
     } catch (e: Exception) {
         Log.e("MangaAPI", "Network exception", e)
         ApiResult.Error(
@@ -0,0 +1,325 @@
+package com.example.myapplication1.data.network
+
+import android.util.Log
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.Handshake
+import okhttp3.HttpUrl
+import okhttp3.Interceptor
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import okio.Buffer
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Proxy
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Network Telemetry - where call latency actually goes
+ *
+ * Every call made by the API clients is timed phase by phase through an OkHttp
+ * [EventListener] (DNS, connect, TLS, time to first byte, body read) and folded
+ * into per-endpoint histograms keyed by URL template, e.g.
+ * `api.jikan.moe/v4/manga/{id}/full`. Recording is a handful of nanoTime reads
+ * and atomic increments - no strings, no logging on successful calls.
+ *
+ * Failed calls are logged by [failureInterceptor]; how much is captured is
+ * controlled by [failureCapture].
+ */
+object NetworkTelemetry {
+
+    private const val TAG = "MangaNetwork"
+    private const val ERROR_BODY_PEEK_BYTES = 2048L
+
+    /** How much of a failed call ends up in the log */
+    enum class FailureCapture {
+        /** Nothing */
+        NONE,
+        /** Status, URL, X-Request-ID and timings */
+        SUMMARY,
+        /** SUMMARY plus request body and the first 2 KB of the response body */
+        BODY
+    }
+
+    /** BODY by default - MangaDex asks for request and response bodies in error reports */
+    @Volatile
+    var failureCapture: FailureCapture = FailureCapture.BODY
+
+    private val endpoints = ConcurrentHashMap<String, EndpointStats>()
+
+    /** Listener factory for OkHttpClient.Builder.eventListenerFactory */
+    val eventListenerFactory = EventListener.Factory { call -> CallTimer(call) }
+
+    /** Multi-line summary of every endpoint, slowest first - logged when the app is hidden */
+    fun report(): String {
+        return endpoints.entries
+            .sortedByDescending { it.value.total.meanMillis() }
+            .joinToString("\n") { (endpoint, stats) -> "$endpoint $stats" }
+    }
+
+    /**
+     * Collapse ids in the path so calls to the same endpoint share one entry:
+     * numeric segments and UUIDs become `{id}`
+     */
+    fun endpointTemplate(url: HttpUrl): String {
+        return url.pathSegments.joinToString("/", prefix = "${url.host}/") { segment ->
+            if (segment.isNotEmpty() && (segment.all { it.isDigit() } || UUID.matches(segment))) "{id}" else segment
+        }
+    }
+
+    private val UUID = Regex("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}")
+
+    /**
+     * Application interceptor that logs failed calls (HTTP >= 400) only.
+     * Bodies are read only for those calls and only at [FailureCapture.BODY].
+     */
+    fun failureInterceptor(api: String) = Interceptor { chain ->
+        val request = chain.request()
+        val response = chain.proceed(request)
+        val capture = failureCapture
+
+        if (response.code >= 400 && capture != FailureCapture.NONE) {
+            val requestId = response.header("X-Request-ID") ?: "N/A"
+            val message = StringBuilder()
+                .append("$api API ERROR - Request ID: $requestId\n")
+                .append("Status: ${response.code} ${response.message}\n")
+                .append("URL: ${request.method} ${request.url}\n")
+                .append("Time: ${response.receivedResponseAtMillis - response.sentRequestAtMillis}ms")
+            if (capture == FailureCapture.BODY) {
+                message.append("\n\nRequest:\n").append(requestBody(request))
+                message.append("\n\nResponse:\n").append(responseBody(response))
+            }
+            Log.e(TAG, message.toString())
+        }
+
+        response
+    }
+
+    private fun requestBody(request: Request): String {
+        val body = request.body ?: return "No request body"
+        if (body.isOneShot() || body.isDuplex()) return "Request body not replayable"
+        return try {
+            Buffer().also { body.writeTo(it) }.readUtf8()
+        } catch (e: IOException) {
+            "Unable to read request body: ${e.message}"
+        }
+    }
+
+    private fun responseBody(response: Response): String {
+        return try {
+            // Peek without consuming - the caller still reads the error body
+            response.peekBody(ERROR_BODY_PEEK_BYTES).string()
+        } catch (e: IOException) {
+            "Error reading response: ${e.message}"
+        }
+    }
+
+    /**
+     * Counters and histograms for one endpoint template
+     */
+    class EndpointStats {
+        val calls = AtomicLong()
+        val failures = AtomicLong()
+        val cacheHits = AtomicLong()
+        val conditionalHits = AtomicLong()
+        val cacheMisses = AtomicLong()
+        val bytesIn = AtomicLong()
+        val bytesOut = AtomicLong()
+
+        val total = LatencyHistogram()
+        val dns = LatencyHistogram()
+        val connect = LatencyHistogram()
+        val tls = LatencyHistogram()
+        val timeToFirstByte = LatencyHistogram()
+        val bodyRead = LatencyHistogram()
+
+        @Volatile
+        var lastRequestId: String? = null
+
+        override fun toString(): String {
+            return "calls=${calls.get()} failures=${failures.get()} " +
+                "cache(hit=${cacheHits.get()} conditional=${conditionalHits.get()} miss=${cacheMisses.get()}) " +
+                "in=${bytesIn.get()}B out=${bytesOut.get()}B total=$total dns=$dns connect=$connect " +
+                "tls=$tls ttfb=$timeToFirstByte body=$bodyRead"
+        }
+    }
+
+    /**
+     * Fixed-bucket latency histogram (milliseconds). Percentiles resolve to a
+     * bucket's upper bound, which is plenty to see where time goes.
+     */
+    class LatencyHistogram {
+        private val counts = AtomicLongArray(BOUNDS_MILLIS.size + 1)
+        private val sumNanos = AtomicLong()
+        private val count = AtomicLong()
+
+        fun record(nanos: Long) {
+            val millis = TimeUnit.NANOSECONDS.toMillis(nanos)
+            var bucket = BOUNDS_MILLIS.indexOfFirst { millis <= it }
+            if (bucket < 0) bucket = BOUNDS_MILLIS.size
+            counts.incrementAndGet(bucket)
+            sumNanos.addAndGet(nanos)
+            count.incrementAndGet()
+        }
+
+        fun count(): Long = count.get()
+
+        fun meanMillis(): Long {
+            val n = count.get()
+            return if (n == 0L) 0 else TimeUnit.NANOSECONDS.toMillis(sumNanos.get() / n)
+        }
+
+        /** Upper bound of the bucket holding the [quantile] (0..1), -1 when empty or above the last bound */
+        fun percentile(quantile: Double): Long {
+            val n = count.get()
+            if (n == 0L) return -1
+            val target = kotlin.math.ceil(n * quantile).toLong().coerceAtLeast(1)
+            var seen = 0L
+            for (i in 0 until counts.length()) {
+                seen += counts.get(i)
+                if (seen >= target) return if (i < BOUNDS_MILLIS.size) BOUNDS_MILLIS[i] else -1
+            }
+            return -1
+        }
+
+        override fun toString(): String {
+            if (count.get() == 0L) return "-"
+            fun bound(q: Double) = percentile(q).let { if (it < 0) ">${BOUNDS_MILLIS.last()}" else "$it" }
+            return "(n=${count.get()} mean=${meanMillis()} p50<=${bound(0.5)} p90<=${bound(0.9)} p99<=${bound(0.99)}ms)"
+        }
+
+        companion object {
+            private val BOUNDS_MILLIS = longArrayOf(5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000)
+        }
+    }
+
+    private enum class CacheOutcome { HIT, CONDITIONAL_HIT, MISS }
+
+    /**
+     * Per-call listener. Only timestamps are kept while the call runs;
+     * everything is folded into the endpoint stats when it ends.
+     */
+    private class CallTimer(call: Call) : EventListener() {
+        private val url = call.request().url
+        private var callStart = 0L
+        private var dnsStart = 0L
+        private var dnsNanos = -1L
+        private var connectStart = 0L
+        private var connectNanos = -1L
+        private var tlsStart = 0L
+        private var tlsNanos = -1L
+        private var requestSent = 0L
+        private var responseHeadersStart = 0L
+        private var responseBodyStart = 0L
+        private var bodyNanos = -1L
+        private var bytesOut = 0L
+        private var bytesIn = 0L
+        private var cacheOutcome: CacheOutcome? = null
+        private var unsatisfiedProbe = false
+        private var requestId: String? = null
+
+        override fun callStart(call: Call) {
+            callStart = System.nanoTime()
+        }
+
+        override fun dnsStart(call: Call, domainName: String) {
+            dnsStart = System.nanoTime()
+        }
+
+        override fun dnsEnd(call: Call, domainName: String, inetAddressList: List<InetAddress>) {
+            dnsNanos = System.nanoTime() - dnsStart
+        }
+
+        override fun connectStart(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy) {
+            connectStart = System.nanoTime()
+        }
+
+        override fun secureConnectStart(call: Call) {
+            tlsStart = System.nanoTime()
+        }
+
+        override fun secureConnectEnd(call: Call, handshake: Handshake?) {
+            tlsNanos = System.nanoTime() - tlsStart
+        }
+
+        override fun connectEnd(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy, protocol: Protocol?) {
+            connectNanos = System.nanoTime() - connectStart
+        }
+
+        override fun requestHeadersEnd(call: Call, request: Request) {
+            requestSent = System.nanoTime()
+        }
+
+        override fun requestBodyEnd(call: Call, byteCount: Long) {
+            requestSent = System.nanoTime()
+            bytesOut += byteCount
+        }
+
+        override fun responseHeadersStart(call: Call) {
+            responseHeadersStart = System.nanoTime()
+        }
+
+        override fun responseHeadersEnd(call: Call, response: Response) {
+            requestId = response.header("X-Request-ID") ?: requestId
+        }
+
+        override fun responseBodyStart(call: Call) {
+            responseBodyStart = System.nanoTime()
+        }
+
+        override fun responseBodyEnd(call: Call, byteCount: Long) {
+            bodyNanos = System.nanoTime() - responseBodyStart
+            bytesIn += byteCount
+        }
+
+        override fun cacheHit(call: Call, response: Response) {
+            cacheOutcome = CacheOutcome.HIT
+        }
+
+        override fun cacheConditionalHit(call: Call, cachedResponse: Response) {
+            cacheOutcome = CacheOutcome.CONDITIONAL_HIT
+        }
+
+        override fun cacheMiss(call: Call) {
+            cacheOutcome = CacheOutcome.MISS
+        }
+
+        override fun satisfactionFailure(call: Call, response: Response) {
+            // An only-if-cached probe that found nothing - the real call is recorded on its own
+            unsatisfiedProbe = true
+        }
+
+        override fun callEnd(call: Call) = finish(failed = false)
+
+        override fun callFailed(call: Call, ioe: IOException) = finish(failed = true)
+
+        private fun finish(failed: Boolean) {
+            if (unsatisfiedProbe && !failed) return
+            val stats = endpoints.getOrPut(endpointTemplate(url)) { EndpointStats() }
+
+            stats.calls.incrementAndGet()
+            if (failed) stats.failures.incrementAndGet()
+            when (cacheOutcome) {
+                CacheOutcome.HIT -> stats.cacheHits.incrementAndGet()
+                CacheOutcome.CONDITIONAL_HIT -> stats.conditionalHits.incrementAndGet()
+                CacheOutcome.MISS -> stats.cacheMisses.incrementAndGet()
+                null -> Unit
+            }
+            stats.bytesIn.addAndGet(bytesIn)
+            stats.bytesOut.addAndGet(bytesOut)
+            requestId?.let { stats.lastRequestId = it }
+
+            stats.total.record(System.nanoTime() - callStart)
+            if (dnsNanos >= 0) stats.dns.record(dnsNanos)
+            if (connectNanos >= 0) stats.connect.record(connectNanos)
+            if (tlsNanos >= 0) stats.tls.record(tlsNanos)
+            if (requestSent > 0 && responseHeadersStart > 0) stats.timeToFirstByte.record(responseHeadersStart - requestSent)
+            if (bodyNanos >= 0) stats.bodyRead.record(bodyNanos)
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.myapplication1.data.network
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+import okhttp3.CacheControl
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import okio.Timeout
+import java.io.IOException
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Call.Factory that takes a [RateLimiter] permit before a request goes to the network
+ *
+ * Used as the Retrofit call factory instead of the plain OkHttpClient. Asynchronous
+ * calls (Retrofit suspend functions, Java Callbacks) wait for their permit in a
+ * coroutine, so no OkHttp dispatcher thread is put to sleep, and queue in the
+ * lane given by [RequestPriority.current] at creation time. Requests covered by
+ * [HttpCachePolicy] are first probed against the disk cache - a fresh hit is
+ * answered immediately and does not spend a permit.
+ */
+class RateLimitedCallFactory(
+    private val client: OkHttpClient,
+    private val limiter: RateLimiter,
+    private val scope: CoroutineScope
+) : Call.Factory {
+
+    // Same cache, pool and dispatcher, but none of the logging/error interceptors -
+    // a cache probe miss is not a failed request
+    private val probeClient: OkHttpClient = client.newBuilder()
+        .apply { interceptors().clear() }
+        .build()
+
+    // Retrofit creates calls synchronously in the calling coroutine, so the
+    // scheduler's priority is still visible on this thread
+    override fun newCall(request: Request): Call = RateLimitedCall(request, RequestPriority.current())
+
+    private fun isCacheable(request: Request): Boolean {
+        return client.cache != null &&
+            request.method == "GET" &&
+            HttpCachePolicy.ruleFor(request.url) != null
+    }
+
+    private inner class RateLimitedCall(
+        private val originalRequest: Request,
+        private val priority: RequestPriority
+    ) : Call {
+
+        private val delegate: Call = client.newCall(originalRequest)
+        private val executed = AtomicBoolean(false)
+        private val canceled = AtomicBoolean(false)
+
+        @Volatile
+        private var waitJob: Job? = null
+
+        @Volatile
+        private var probe: Call? = null
+
+        override fun request(): Request = originalRequest
+
+        override fun execute(): Response {
+            check(executed.compareAndSet(false, true)) { "Already Executed" }
+            if (!isCacheable(originalRequest) || !freshInCache()) {
+                limiter.acquireBlocking(priority)
+            }
+            if (canceled.get()) throw IOException("Canceled")
+            return delegate.execute()
+        }
+
+        override fun enqueue(responseCallback: Callback) {
+            check(executed.compareAndSet(false, true)) { "Already Executed" }
+            if (isCacheable(originalRequest)) {
+                probeCacheThenEnqueue(responseCallback)
+            } else {
+                acquireThenEnqueue(responseCallback)
+            }
+        }
+
+        /**
+         * Ask the cache (and only the cache) for the request. OkHttp answers 504
+         * for only-if-cached requests it cannot satisfy with a fresh entry.
+         */
+        private fun probeCacheThenEnqueue(responseCallback: Callback) {
+            val call = probeClient.newCall(cacheOnlyRequest())
+            probe = call
+            call.enqueue(object : Callback {
+                override fun onResponse(call: Call, response: Response) {
+                    if (response.code != 504) {
+                        responseCallback.onResponse(this@RateLimitedCall, response)
+                    } else {
+                        response.close()
+                        acquireThenEnqueue(responseCallback)
+                    }
+                }
+
+                override fun onFailure(call: Call, e: IOException) {
+                    if (canceled.get()) {
+                        responseCallback.onFailure(this@RateLimitedCall, e)
+                    } else {
+                        acquireThenEnqueue(responseCallback)
+                    }
+                }
+            })
+        }
+
+        private fun acquireThenEnqueue(responseCallback: Callback) {
+            if (canceled.get()) {
+                responseCallback.onFailure(this, IOException("Canceled"))
+                return
+            }
+            // Once the delegate has the callback it reports the outcome, cancellation included
+            val handedOff = AtomicBoolean(false)
+            val job = scope.launch(start = CoroutineStart.LAZY) {
+                limiter.acquire(priority)
+                handedOff.set(true)
+                delegate.enqueue(responseCallback.forCall(this@RateLimitedCall))
+            }
+            job.invokeOnCompletion { cause ->
+                if (cause != null && !handedOff.get()) {
+                    responseCallback.onFailure(this, IOException("Canceled", cause))
+                }
+            }
+            waitJob = job
+            // Re-check after publishing the job so a concurrent cancel() can't be missed
+            if (canceled.get()) job.cancel()
+            job.start()
+        }
+
+        private fun freshInCache(): Boolean {
+            val call = probeClient.newCall(cacheOnlyRequest())
+            probe = call
+            return try {
+                call.execute().use { it.code != 504 }
+            } catch (e: IOException) {
+                false
+            }
+        }
+
+        private fun cacheOnlyRequest(): Request {
+            return originalRequest.newBuilder()
+                .cacheControl(CacheControl.Builder().onlyIfCached().build())
+                .build()
+        }
+
+        override fun cancel() {
+            if (!canceled.compareAndSet(false, true)) return
+            probe?.cancel()
+            waitJob?.cancel()
+            delegate.cancel()
+        }
+
+        override fun isExecuted(): Boolean = executed.get()
+
+        override fun isCanceled(): Boolean = canceled.get() || delegate.isCanceled()
+
+        override fun timeout(): Timeout = delegate.timeout()
+
+        override fun clone(): Call = RateLimitedCall(originalRequest, priority)
+    }
+
+    /**
+     * Report results against the wrapping call rather than the OkHttp delegate,
+     * so callers can match them with the Call they created
+     */
+    private fun Callback.forCall(call: Call): Callback {
+        val callback = this
+        return object : Callback {
+            override fun onResponse(ignored: Call, response: Response) = callback.onResponse(call, response)
+            override fun onFailure(ignored: Call, e: IOException) = callback.onFailure(call, e)
+        }
+    }
+}
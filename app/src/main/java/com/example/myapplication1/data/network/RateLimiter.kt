@@ -0,0 +1,182 @@
+package com.example.myapplication1.data.network
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import java.util.PriorityQueue
+import java.util.concurrent.TimeUnit
+import kotlin.math.ceil
+import kotlin.math.min
+
+/**
+ * Token bucket rate limiter
+ *
+ * Models one or more budgets at once (e.g. Jikan's 3 requests/second AND
+ * 60 requests/minute). A permit is handed out only when every bucket has a
+ * token. Waiting callers suspend instead of parking a thread. They are served
+ * by [RequestPriority] first and in FIFO order within the same priority, so an
+ * interactive request overtakes any queued background work.
+ */
+class RateLimiter(
+    bandwidths: List<Bandwidth>,
+    private val clock: Clock = Clock.SYSTEM
+) {
+
+    /**
+     * One budget: [capacity] permits per [periodNanos], refilled continuously.
+     * The bucket starts full, so up to [capacity] calls can go out as a burst.
+     */
+    data class Bandwidth(val capacity: Int, val periodNanos: Long) {
+        init {
+            require(capacity > 0) { "capacity must be > 0" }
+            require(periodNanos > 0) { "period must be > 0" }
+        }
+
+        companion object {
+            fun perSecond(capacity: Int) = Bandwidth(capacity, TimeUnit.SECONDS.toNanos(1))
+            fun perMinute(capacity: Int) = Bandwidth(capacity, TimeUnit.MINUTES.toNanos(1))
+        }
+    }
+
+    /**
+     * Time source - swapped for a virtual clock in tests
+     */
+    interface Clock {
+        fun nanoTime(): Long
+        suspend fun sleep(nanos: Long)
+
+        companion object {
+            val SYSTEM: Clock = object : Clock {
+                override fun nanoTime(): Long = System.nanoTime()
+                override suspend fun sleep(nanos: Long) {
+                    delay(ceil(nanos / 1_000_000.0).toLong())
+                }
+            }
+        }
+    }
+
+    private class Bucket(val bandwidth: Bandwidth, now: Long) {
+        var tokens: Double = bandwidth.capacity.toDouble()
+        var lastRefill: Long = now
+
+        fun refill(now: Long) {
+            val elapsed = now - lastRefill
+            if (elapsed > 0) {
+                tokens = min(
+                    bandwidth.capacity.toDouble(),
+                    tokens + elapsed.toDouble() * bandwidth.capacity / bandwidth.periodNanos
+                )
+                lastRefill = now
+            }
+        }
+
+        /** Nanos until one whole token is available (0 if available now) */
+        fun nanosUntilToken(): Long {
+            if (tokens >= 1.0) return 0L
+            return ceil((1.0 - tokens) * bandwidth.periodNanos / bandwidth.capacity).toLong()
+        }
+    }
+
+    private class Waiter(val priority: RequestPriority, val sequence: Long) {
+        // Conflated - a wake-up is only a hint to re-check the queue head
+        val signal = Channel<Unit>(Channel.CONFLATED)
+    }
+
+    private val buckets: List<Bucket>
+
+    private val lock = Any()
+    private var nextSequence = 0L
+    private val queue = PriorityQueue<Waiter>(
+        compareBy<Waiter>({ it.priority.ordinal }, { it.sequence })
+    )
+
+    init {
+        require(bandwidths.isNotEmpty()) { "At least one bandwidth is required" }
+        val now = clock.nanoTime()
+        buckets = bandwidths.map { Bucket(it, now) }
+    }
+
+    /**
+     * Suspend until a permit is available, then take it.
+     * Only the head of the queue waits for tokens; everyone else waits for a signal.
+     * Cancelling the caller while it waits leaves the queue without consuming a permit.
+     */
+    suspend fun acquire(priority: RequestPriority = RequestPriority.INTERACTIVE) {
+        val waiter = synchronized(lock) {
+            Waiter(priority, nextSequence++).also { queue.add(it) }
+        }
+        try {
+            while (true) {
+                val wait: Long? = synchronized(lock) {
+                    if (queue.peek() !== waiter) {
+                        null
+                    } else {
+                        val now = clock.nanoTime()
+                        buckets.forEach { it.refill(now) }
+                        val nanos = buckets.maxOf { it.nanosUntilToken() }
+                        if (nanos <= 0L) {
+                            buckets.forEach { it.tokens -= 1.0 }
+                            queue.poll()
+                            queue.peek()?.signal?.trySend(Unit)
+                            return
+                        }
+                        nanos
+                    }
+                }
+                if (wait == null) {
+                    waiter.signal.receive()
+                } else {
+                    clock.sleep(wait)
+                }
+            }
+        } catch (e: CancellationException) {
+            synchronized(lock) {
+                val wasHead = queue.peek() === waiter
+                queue.remove(waiter)
+                if (wasHead) queue.peek()?.signal?.trySend(Unit)
+            }
+            throw e
+        }
+    }
+
+    /**
+     * Take a permit only if one is available right now and nobody is queued
+     */
+    fun tryAcquire(): Boolean {
+        synchronized(lock) {
+            if (queue.isNotEmpty()) return false
+            val now = clock.nanoTime()
+            buckets.forEach { it.refill(now) }
+            if (buckets.any { it.tokens < 1.0 }) return false
+            buckets.forEach { it.tokens -= 1.0 }
+            return true
+        }
+    }
+
+    /**
+     * Blocking variant for callers that are already on a background thread
+     * (synchronous OkHttp Call.execute()). Coroutine callers should use [acquire].
+     */
+    fun acquireBlocking(priority: RequestPriority = RequestPriority.INTERACTIVE) {
+        runBlocking { acquire(priority) }
+    }
+
+    companion object {
+        /**
+         * Jikan free tier: 3 requests/second and 60 requests/minute
+         */
+        fun jikan(clock: Clock = Clock.SYSTEM) = RateLimiter(
+            listOf(Bandwidth.perSecond(3), Bandwidth.perMinute(60)),
+            clock
+        )
+
+        /**
+         * MangaDex global limit: ~5 requests/second per client
+         */
+        fun mangadex(clock: Clock = Clock.SYSTEM) = RateLimiter(
+            listOf(Bandwidth.perSecond(5)),
+            clock
+        )
+    }
+}
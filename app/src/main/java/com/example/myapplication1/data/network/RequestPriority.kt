@@ -0,0 +1,52 @@
+package com.example.myapplication1.data.network
+
+import kotlinx.coroutines.asContextElement
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * Scheduling lane of a request competing for the Jikan rate limit
+ *
+ * Declared from most to least urgent - [RateLimiter] serves lower ordinals first.
+ */
+enum class RequestPriority {
+    /** Something the user is looking at and waiting for (detail screen, first page of a list) */
+    INTERACTIVE,
+
+    /** Data for content that is about to become visible (next page while scrolling) */
+    VISIBLE_PREFETCH,
+
+    /** Work the user isn't waiting for (watchlist refresh, genres, random pick) */
+    BACKGROUND;
+
+    companion object {
+        private val current = ThreadLocal<RequestPriority?>()
+
+        /**
+         * Priority of the coroutine running on this thread. Read by
+         * [RateLimitedCallFactory] when Retrofit creates the call, which happens
+         * synchronously inside the calling coroutine.
+         */
+        fun current(): RequestPriority = current.get() ?: INTERACTIVE
+
+        /**
+         * Coroutine context element that makes [current] return [priority]
+         */
+        fun contextElement(priority: RequestPriority): CoroutineContext.Element {
+            return current.asContextElement(priority)
+        }
+
+        /**
+         * Run a non-suspending [block] (e.g. creating a call on a callback thread)
+         * as if it were inside a coroutine with [priority]
+         */
+        fun <T> withCurrent(priority: RequestPriority, block: () -> T): T {
+            val previous = current.get()
+            current.set(priority)
+            try {
+                return block()
+            } finally {
+                current.set(previous)
+            }
+        }
+    }
+}
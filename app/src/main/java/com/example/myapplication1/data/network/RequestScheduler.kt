@@ -0,0 +1,72 @@
+package com.example.myapplication1.data.network
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.job
+import kotlinx.coroutines.withContext
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Request Scheduler - assigns a [RequestPriority] to a block of API calls
+ *
+ * Every rate-limited call made inside [run] waits in the limiter queue with
+ * that priority, so interactive requests overtake queued background work.
+ * [runLatest] additionally makes background work cancellable: starting a new
+ * block with the same key cancels the one it supersedes.
+ */
+class RequestScheduler {
+
+    private class SupersededException(key: String) :
+        CancellationException("Superseded by a newer '$key' request")
+
+    private class Run(val job: Job) {
+        @Volatile
+        var superseded = false
+    }
+
+    private val latest = ConcurrentHashMap<String, Run>()
+
+    /**
+     * Run [block] with [priority]. A null priority keeps the caller's lane
+     * (INTERACTIVE when no lane has been set).
+     */
+    suspend fun <T> run(priority: RequestPriority?, block: suspend () -> T): T {
+        if (priority == null) return block()
+        return withContext(RequestPriority.contextElement(priority)) { block() }
+    }
+
+    /**
+     * Run [block] with [priority], cancelling any earlier block still running
+     * under the same [key].
+     * @return the block's result, or null if it was superseded before finishing
+     */
+    suspend fun <T> runLatest(
+        key: String,
+        priority: RequestPriority = RequestPriority.BACKGROUND,
+        block: suspend () -> T
+    ): T? {
+        var thisRun: Run? = null
+        return try {
+            withContext(RequestPriority.contextElement(priority)) {
+                val current = Run(coroutineContext.job).also { thisRun = it }
+                latest.put(key, current)?.let { previous ->
+                    previous.superseded = true
+                    previous.job.cancel(SupersededException(key))
+                }
+                try {
+                    block()
+                } finally {
+                    latest.remove(key, current)
+                }
+            }
+        } catch (e: CancellationException) {
+            // Timeouts and other cancellations from inside the block are not "superseded"
+            if (thisRun?.superseded != true) throw e
+            // Nor is the caller itself being cancelled
+            currentCoroutineContext().ensureActive()
+            null
+        }
+    }
+}
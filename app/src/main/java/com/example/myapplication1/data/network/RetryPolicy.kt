@@ -0,0 +1,127 @@
+package com.example.myapplication1.data.network
+
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+import java.io.InterruptedIOException
+import java.net.SocketTimeoutException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.min
+import kotlin.random.Random
+
+/**
+ * Retry Policy - decides whether and when a failed call is tried again
+ *
+ * - Only idempotent methods (GET/HEAD) are retried
+ * - 429 and 5xx responses, timeouts and connection failures are retryable
+ * - Retry-After is honoured; otherwise exponential backoff with full jitter
+ * - Every retry must be paid for from the shared [RetryBudget]
+ */
+class RetryPolicy(
+    val maxAttempts: Int = 3,
+    private val baseDelayMillis: Long = 500,
+    private val maxDelayMillis: Long = 8_000,
+    /** A Retry-After longer than this is not worth waiting for - fail instead */
+    private val maxRetryAfterMillis: Long = 30_000,
+    private val budget: RetryBudget = RetryBudget(),
+    private val random: Random = Random.Default
+) {
+
+    /** Called once per original (non-retry) request so the budget can grow with traffic */
+    fun onRequest() = budget.deposit()
+
+    /**
+     * Delay before the next attempt after a response, or null to give up
+     * @param attempt 1-based number of the attempt that just finished
+     */
+    fun retryDelay(request: Request, response: Response, attempt: Int): Long? {
+        if (!isIdempotent(request) || attempt >= maxAttempts) return null
+        if (response.code != 429 && response.code !in 500..599) return null
+
+        val delay = retryAfterMillis(response) ?: backoffMillis(attempt)
+        if (delay > maxRetryAfterMillis) return null
+        return if (budget.withdraw()) {
+            delay
+        } else {
+            RetryStats.budgetExhausted.incrementAndGet()
+            null
+        }
+    }
+
+    /**
+     * Delay before the next attempt after a transport failure, or null to give up
+     */
+    fun retryDelay(request: Request, error: IOException, canceled: Boolean, attempt: Int): Long? {
+        if (canceled || !isIdempotent(request) || attempt >= maxAttempts) return null
+        // InterruptedIOException is also how OkHttp reports a cancelled call - only timeouts qualify
+        if (error is InterruptedIOException && error !is SocketTimeoutException) return null
+        return if (budget.withdraw()) {
+            backoffMillis(attempt)
+        } else {
+            RetryStats.budgetExhausted.incrementAndGet()
+            null
+        }
+    }
+
+    private fun isIdempotent(request: Request): Boolean {
+        return request.method == "GET" || request.method == "HEAD"
+    }
+
+    /** Full jitter: uniform in [0, min(cap, base * 2^(attempt-1))] */
+    private fun backoffMillis(attempt: Int): Long {
+        val exponential = baseDelayMillis shl (attempt - 1).coerceIn(0, 20)
+        return random.nextLong(min(maxDelayMillis, exponential) + 1)
+    }
+
+    /** Retry-After as delta-seconds or an HTTP date */
+    private fun retryAfterMillis(response: Response): Long? {
+        val value = response.header("Retry-After")?.trim() ?: return null
+        value.toLongOrNull()?.let { return TimeUnit.SECONDS.toMillis(it.coerceAtLeast(0)) }
+        val date = response.headers.getDate("Retry-After") ?: return null
+        return (date.time - System.currentTimeMillis()).coerceAtLeast(0)
+    }
+}
+
+/**
+ * Retry budget - caps retries to a fraction of overall traffic
+ *
+ * Each request deposits [ratio] of a token and each retry withdraws a whole one,
+ * so retries stay below ~10% of requests even when the server is failing
+ * everything. [initialTokens] lets a quiet app still retry its first failures.
+ */
+class RetryBudget(
+    private val ratio: Double = 0.1,
+    initialTokens: Double = 3.0,
+    private val maxTokens: Double = 10.0
+) {
+    private var tokens = initialTokens
+
+    @Synchronized
+    fun deposit() {
+        tokens = min(maxTokens, tokens + ratio)
+    }
+
+    @Synchronized
+    fun withdraw(): Boolean {
+        if (tokens < 1.0) return false
+        tokens -= 1.0
+        return true
+    }
+}
+
+/**
+ * Retry counters - what retrying costs us
+ */
+object RetryStats {
+    val requests = AtomicLong()
+    val retries = AtomicLong()
+    val recovered = AtomicLong()
+    val budgetExhausted = AtomicLong()
+    val addedLatencyMillis = AtomicLong()
+
+    override fun toString(): String {
+        return "requests=${requests.get()} retries=${retries.get()} recovered=${recovered.get()} " +
+            "budgetExhausted=${budgetExhausted.get()} addedLatency=${addedLatencyMillis.get()}ms"
+    }
+}
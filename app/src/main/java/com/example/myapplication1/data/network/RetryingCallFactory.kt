@@ -0,0 +1,191 @@
+package com.example.myapplication1.data.network
+
+import android.util.Log
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.Request
+import okhttp3.Response
+import okio.Timeout
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Call.Factory that retries failed calls according to a [RetryPolicy]
+ *
+ * Each attempt is a new call from [delegate], so retries of rate-limited
+ * clients queue for a fresh permit in the same [RequestPriority] lane as the
+ * original. Asynchronous backoff waits in a coroutine instead of a sleeping thread.
+ */
+class RetryingCallFactory(
+    private val delegate: Call.Factory,
+    private val policy: RetryPolicy,
+    private val scope: CoroutineScope
+) : Call.Factory {
+
+    override fun newCall(request: Request): Call = RetryingCall(request, RequestPriority.current())
+
+    private inner class RetryingCall(
+        private val originalRequest: Request,
+        private val priority: RequestPriority
+    ) : Call {
+
+        private val executed = AtomicBoolean(false)
+        private val canceled = AtomicBoolean(false)
+
+        @Volatile
+        private var currentCall: Call? = null
+
+        @Volatile
+        private var retryJob: Job? = null
+
+        private var firstAttemptAt = 0L
+
+        @Volatile
+        private var lastAttemptAt = 0L
+
+        override fun request(): Request = originalRequest
+
+        private fun newAttempt(): Call {
+            val call = RequestPriority.withCurrent(priority) { delegate.newCall(originalRequest) }
+            currentCall = call
+            lastAttemptAt = System.nanoTime()
+            // cancel() may have raced with the assignment above
+            if (canceled.get()) call.cancel()
+            return call
+        }
+
+        override fun execute(): Response {
+            check(executed.compareAndSet(false, true)) { "Already Executed" }
+            start()
+            var attempt = 1
+            while (true) {
+                val response = try {
+                    newAttempt().execute()
+                } catch (e: IOException) {
+                    val wait = policy.retryDelay(originalRequest, e, canceled.get(), attempt) ?: run {
+                        finish(attempt, succeeded = false)
+                        throw e
+                    }
+                    onRetry(attempt, wait, e.toString())
+                    sleep(wait)
+                    attempt++
+                    continue
+                }
+                val wait = policy.retryDelay(originalRequest, response, attempt)
+                if (wait == null) {
+                    finish(attempt, response.isSuccessful)
+                    return response
+                }
+                response.close()
+                onRetry(attempt, wait, "HTTP ${response.code}")
+                sleep(wait)
+                attempt++
+            }
+        }
+
+        private fun sleep(millis: Long) {
+            try {
+                Thread.sleep(millis)
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+                throw IOException("Interrupted during retry backoff", e)
+            }
+            if (canceled.get()) throw IOException("Canceled")
+        }
+
+        override fun enqueue(responseCallback: Callback) {
+            check(executed.compareAndSet(false, true)) { "Already Executed" }
+            start()
+            enqueueAttempt(1, responseCallback)
+        }
+
+        private fun enqueueAttempt(attempt: Int, responseCallback: Callback) {
+            newAttempt().enqueue(object : Callback {
+                override fun onResponse(call: Call, response: Response) {
+                    val wait = policy.retryDelay(originalRequest, response, attempt)
+                    if (wait == null) {
+                        finish(attempt, response.isSuccessful)
+                        responseCallback.onResponse(this@RetryingCall, response)
+                    } else {
+                        response.close()
+                        onRetry(attempt, wait, "HTTP ${response.code}")
+                        scheduleRetry(attempt + 1, wait, responseCallback)
+                    }
+                }
+
+                override fun onFailure(call: Call, e: IOException) {
+                    val wait = policy.retryDelay(originalRequest, e, canceled.get(), attempt)
+                    if (wait == null) {
+                        finish(attempt, succeeded = false)
+                        responseCallback.onFailure(this@RetryingCall, e)
+                    } else {
+                        onRetry(attempt, wait, e.toString())
+                        scheduleRetry(attempt + 1, wait, responseCallback)
+                    }
+                }
+            })
+        }
+
+        private fun scheduleRetry(attempt: Int, waitMillis: Long, responseCallback: Callback) {
+            // Once the next attempt is under way it reports the outcome, cancellation included
+            val handedOff = AtomicBoolean(false)
+            val job = scope.launch(start = CoroutineStart.LAZY) {
+                delay(waitMillis)
+                handedOff.set(true)
+                enqueueAttempt(attempt, responseCallback)
+            }
+            job.invokeOnCompletion { cause ->
+                if (cause != null && !handedOff.get()) {
+                    responseCallback.onFailure(this, IOException("Canceled", cause))
+                }
+            }
+            retryJob = job
+            if (canceled.get()) job.cancel()
+            job.start()
+        }
+
+        private fun start() {
+            firstAttemptAt = System.nanoTime()
+            RetryStats.requests.incrementAndGet()
+            policy.onRequest()
+        }
+
+        private fun onRetry(attempt: Int, waitMillis: Long, reason: String) {
+            RetryStats.retries.incrementAndGet()
+            Log.w(TAG, "Retry ${attempt + 1}/${policy.maxAttempts} in ${waitMillis}ms after $reason - " +
+                "${originalRequest.url.encodedPath} [$RetryStats]")
+        }
+
+        private fun finish(attempts: Int, succeeded: Boolean) {
+            if (attempts <= 1) return
+            // Time spent on failed attempts and backoff before the final attempt started
+            val added = TimeUnit.NANOSECONDS.toMillis(lastAttemptAt - firstAttemptAt)
+            RetryStats.addedLatencyMillis.addAndGet(added)
+            if (succeeded) RetryStats.recovered.incrementAndGet()
+        }
+
+        override fun cancel() {
+            if (!canceled.compareAndSet(false, true)) return
+            retryJob?.cancel()
+            currentCall?.cancel()
+        }
+
+        override fun isExecuted(): Boolean = executed.get()
+
+        override fun isCanceled(): Boolean = canceled.get()
+
+        override fun timeout(): Timeout = currentCall?.timeout() ?: Timeout.NONE
+
+        override fun clone(): Call = RetryingCall(originalRequest, priority)
+    }
+
+    companion object {
+        private const val TAG = "MangaNetwork"
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.myapplication1.data.network
+
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import kotlinx.serialization.serializerOrNull
+import okhttp3.ResponseBody
+import retrofit2.Converter
+import retrofit2.Retrofit
+import java.lang.reflect.Type
+
+/**
+ * Retrofit converter backed by compile-time generated kotlinx.serialization serializers
+ *
+ * Response bodies are decoded straight from the network stream - no reflection,
+ * no intermediate String of the whole body. Types without a generated serializer
+ * are left to the next converter factory.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+class StreamingJsonConverterFactory(
+    private val json: Json = DEFAULT_JSON
+) : Converter.Factory() {
+
+    override fun responseBodyConverter(
+        type: Type,
+        annotations: Array<out Annotation>,
+        retrofit: Retrofit
+    ): Converter<ResponseBody, *>? {
+        val serializer = json.serializersModule.serializerOrNull(type) ?: return null
+        return Converter<ResponseBody, Any?> { body ->
+            body.use { json.decodeFromStream(serializer, it.byteStream()) }
+        }
+    }
+
+    companion object {
+        /**
+         * Lenient enough for what Jikan and MangaDex actually send:
+         * unknown keys are skipped, missing nullable fields become null
+         */
+        val DEFAULT_JSON: Json = Json {
+            ignoreUnknownKeys = true
+            explicitNulls = false
+            coerceInputValues = true
+        }
+    }
+}
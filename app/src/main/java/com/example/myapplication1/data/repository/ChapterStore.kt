@@ -0,0 +1,60 @@
+package com.example.myapplication1.data.repository
+
+import com.example.myapplication1.data.local.dao.ChapterDao
+import com.example.myapplication1.data.local.entity.ChapterEntity
+import com.example.myapplication1.data.model.MangaDexChapter
+import com.example.myapplication1.data.network.StreamingJsonConverterFactory
+import kotlinx.serialization.json.Json
+
+/**
+ * Chapter Store - stored chapter lists per manga and language
+ *
+ * Holds complete feeds only; later visits merge in what changed since
+ * [syncPoint] instead of downloading the feed again.
+ */
+class ChapterStore(
+    private val dao: ChapterDao,
+    private val json: Json = StreamingJsonConverterFactory.DEFAULT_JSON
+) {
+
+    /** Stored chapters in reading order (empty if the manga was never synced) */
+    suspend fun load(mangaDexId: String, languages: List<String>): List<MangaDexChapter> {
+        return dao.getChapters(mangaDexId, languages).mapNotNull { entity ->
+            try {
+                json.decodeFromString(MangaDexChapter.serializer(), entity.payload)
+            } catch (e: IllegalArgumentException) {
+                null // Written by an older model version - the next full sync replaces it
+            }
+        }
+    }
+
+    /**
+     * Newest stored updatedAt in the form MangaDex's updatedAtSince accepts
+     * (YYYY-MM-DDTHH:MM:SS), or null if nothing is stored
+     */
+    suspend fun syncPoint(mangaDexId: String, languages: List<String>): String? {
+        return dao.getNewestUpdatedAt(mangaDexId, languages)?.take(SYNC_POINT_LENGTH)
+    }
+
+    suspend fun save(mangaDexId: String, chapters: List<MangaDexChapter>) {
+        if (chapters.isEmpty()) return
+        dao.upsertChapters(chapters.map { chapter ->
+            ChapterEntity(
+                chapterId = chapter.id,
+                mangaDexId = mangaDexId,
+                language = chapter.attributes.translatedLanguage ?: "",
+                volumeNumber = chapter.attributes.volume?.toDoubleOrNull(),
+                chapterNumber = chapter.attributes.chapter?.toDoubleOrNull(),
+                createdAt = chapter.attributes.createdAt,
+                updatedAt = chapter.attributes.updatedAt,
+                payload = json.encodeToString(MangaDexChapter.serializer(), chapter)
+            )
+        })
+    }
+
+    suspend fun clear(mangaDexId: String) = dao.deleteChapters(mangaDexId)
+
+    companion object {
+        private const val SYNC_POINT_LENGTH = "2024-01-01T00:00:00".length
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.myapplication1.data.repository
+
+import com.example.myapplication1.data.model.MangaDexManga
+import com.example.myapplication1.data.model.getName
+
+/**
+ * MangaDex Matcher - picks the MangaDex entry for a MAL title from search results
+ *
+ * Confidence:
+ * - 1.0 when the MangaDex entry links back to the MAL id
+ * - 0.8 when a title or alt title matches after normalization
+ * - 0.3 for the first safe result otherwise (what the plain search used to return)
+ */
+object MangaDexMatcher {
+
+    const val LINKED = 1.0
+    const val TITLE_MATCH = 0.8
+    const val FIRST_RESULT = 0.3
+
+    private val BLOCKED_RATINGS = listOf("erotica", "pornographic")
+    private val BLOCKED_TAGS = listOf("hentai", "erotica", "sexual content", "pornographic")
+
+    /**
+     * Best safe candidate and its confidence, or null if no result is safe
+     */
+    fun bestMatch(candidates: List<MangaDexManga>, malId: Int, title: String): Pair<MangaDexManga, Double>? {
+        val safe = candidates.filter { isSafe(it) }
+        if (safe.isEmpty()) return null
+
+        safe.firstOrNull { it.attributes.links?.get("mal") == malId.toString() }
+            ?.let { return Pair(it, LINKED) }
+
+        val wanted = normalize(title)
+        safe.firstOrNull { candidate -> titlesOf(candidate).any { normalize(it) == wanted } }
+            ?.let { return Pair(it, TITLE_MATCH) }
+
+        return Pair(safe.first(), FIRST_RESULT)
+    }
+
+    /**
+     * Filter out any hentai that might have slipped through (from MyApplication1)
+     */
+    fun isSafe(manga: MangaDexManga): Boolean {
+        return manga.attributes.contentRating?.lowercase() !in BLOCKED_RATINGS &&
+            !manga.attributes.tags.orEmpty().any { tag ->
+                val tagName = tag.getName().lowercase()
+                BLOCKED_TAGS.any { tagName.contains(it) }
+            }
+    }
+
+    private fun titlesOf(manga: MangaDexManga): List<String> {
+        return manga.attributes.title.orEmpty().values +
+            manga.attributes.altTitles.orEmpty().flatMap { it.values }
+    }
+
+    private fun normalize(title: String): String {
+        return title.lowercase().filter { it.isLetterOrDigit() }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.myapplication1.data.repository
+
+import com.example.myapplication1.data.model.MangaDexTag
+import java.util.Locale
+
+/**
+ * MangaDex tag dictionary with a case-folded name index
+ *
+ * Every localized name of every tag ("Romance", "romance", "Романтика", ...)
+ * is folded once when the index is built, so resolving a filter name is a
+ * single hash lookup instead of a scan over all tags.
+ */
+class MangaDexTagIndex(
+    val tags: List<MangaDexTag>,
+    /** When the tag list was downloaded (epoch millis) */
+    val fetchedAt: Long
+) {
+
+    private val idsByName: Map<String, String> = HashMap<String, String>().apply {
+        tags.forEach { tag ->
+            tag.attributes.name?.values?.forEach { name ->
+                // First tag wins if two tags share a name in some locale
+                putIfAbsent(fold(name), tag.id)
+            }
+        }
+    }
+
+    /** Tag id for a name in any locale, ignoring case */
+    fun idOf(name: String): String? = idsByName[fold(name)]
+
+    /** Tag ids for the names that match a tag; unknown names are skipped */
+    fun idsOf(names: List<String>): List<String> = names.mapNotNull { idOf(it) }.distinct()
+
+    companion object {
+        /**
+         * Case folding approximation: upper- then lower-casing maps e.g. "ß" and
+         * "SS" together, which a plain lowercase() does not
+         */
+        fun fold(name: String): String = name.trim().uppercase(Locale.ROOT).lowercase(Locale.ROOT)
+    }
+}
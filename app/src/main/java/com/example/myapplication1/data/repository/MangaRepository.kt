@@ -4,10 +4,32 @@ import com.example.myapplication1.data.api.GenreInfo
 import com.example.myapplication1.data.api.JikanApiService
 import com.example.myapplication1.data.api.MangaDexApiService
 import com.example.myapplication1.data.api.MangaRecommendation
+import com.example.myapplication1.data.local.AppDatabase
+import com.example.myapplication1.data.local.dao.MangaDexMappingDao
+import com.example.myapplication1.data.local.entity.MangaDexMapping
 import com.example.myapplication1.data.model.*
 import com.example.myapplication1.data.network.ApiResult
 import com.example.myapplication1.data.network.NetworkModule
+import com.example.myapplication1.data.network.RequestPriority
 import com.example.myapplication1.data.network.safeApiCall
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.builtins.ListSerializer
+import kotlinx.serialization.builtins.PairSerializer
+import kotlinx.serialization.builtins.nullable
+import retrofit2.Response
+import java.util.Locale
+import java.util.concurrent.TimeUnit
 
 /**
  * Manga Repository - Single source of truth for manga data
@@ -17,6 +39,81 @@ class MangaRepository {
     
     private val jikanApiService: JikanApiService = NetworkModule.createJikanService()
     private val mangadexApiService: MangaDexApiService = NetworkModule.createMangaDexService()
+    private val jikanScheduler = NetworkModule.jikanScheduler
+    
+    // Shared work for coalesced requests - outlives any single caller
+    private val flightScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val mangaByIdFlights = SingleFlight<Int, ApiResult<Manga>>(flightScope)
+    private val mangaDexTagsFlights = SingleFlight<Unit, ApiResult<MangaDexTagIndex>>(flightScope)
+    private val chapterPagesFlights = SingleFlight<String, ApiResult<MangaDexChapterPages>>(flightScope)
+    
+    // Recently opened details - back-and-forth between list and detail stays off the network
+    private val mangaDetailsCache = MemoryCache<Int, Manga>(
+        maxSizeBytes = DETAILS_CACHE_BYTES,
+        defaultTtlMillis = DETAILS_CACHE_TTL_MILLIS,
+        sizeOf = { estimateSizeBytes(it) }
+    )
+    
+    // Loaded MangaDex tag dictionary
+    @Volatile
+    private var tagIndex: MangaDexTagIndex? = null
+    
+    /** Hit/miss/eviction counters of the details memory cache */
+    val detailsCacheStats: String get() = mangaDetailsCache.toString()
+    
+    // Recent search result pages, keyed by normalized query and page
+    private val searchCache = MemoryCache<String, Pair<List<MangaSummary>, Pagination?>>(
+        maxSizeBytes = SEARCH_CACHE_BYTES,
+        defaultTtlMillis = SEARCH_CACHE_TTL_MILLIS,
+        sizeOf = { (summaries, _) -> summaries.sumOf { estimateSizeBytes(it) } }
+    )
+    
+    // Persisted responses for offline-first screens (set from MangaApplication)
+    @Volatile
+    private var snapshotStore: SnapshotStore? = null
+    
+    // On-device search index over everything loaded (set from MangaApplication)
+    @Volatile
+    private var searchIndex: MangaSearchIndex? = null
+    
+    // Stored chapter lists (set from MangaApplication)
+    @Volatile
+    private var chapterStore: ChapterStore? = null
+    
+    // Persisted MAL -> MangaDex id mappings (set from MangaApplication)
+    @Volatile
+    private var mangaDexMappingDao: MangaDexMappingDao? = null
+    private val mangaDexIdFlights = SingleFlight<Int, String?>(flightScope)
+    
+    /**
+     * Back the repository with local storage: snapshots for the *Stream methods
+     * the MangaDex id table and chapter lists. Without it everything is network-only.
+     */
+    fun attachDatabase(database: AppDatabase) {
+        snapshotStore = SnapshotStore(database.responseSnapshotDao())
+        chapterStore = ChapterStore(database.chapterDao())
+        searchIndex = MangaSearchIndex(database.mangaSearchDao())
+        mangaDexMappingDao = database.mangaDexMappingDao()
+    }
+    
+    /**
+     * Jikan call in the given priority lane (null keeps the caller's lane)
+     */
+    private suspend fun <T> jikanCall(
+        priority: RequestPriority?,
+        call: suspend () -> Response<T>
+    ): ApiResult<T> {
+        return jikanScheduler.run(priority) { safeApiCall(call) }
+    }
+    
+    /**
+     * Run background Jikan work that a newer run with the same [key] supersedes.
+     * Calls inside default to the BACKGROUND lane.
+     * @return the block's result, or null if it was superseded
+     */
+    suspend fun <T> runLatestInBackground(key: String, block: suspend () -> T): T? {
+        return jikanScheduler.runLatest(key, RequestPriority.BACKGROUND, block)
+    }
     
     /**
      * Get top manga list
@@ -24,10 +121,12 @@ class MangaRepository {
     suspend fun getTopManga(
         page: Int = 1,
         limit: Int = 25,
-        filter: String? = null
-    ): ApiResult<Pair<List<Manga>, Pagination?>> {
-        return when (val result = safeApiCall { jikanApiService.getTopManga(page, limit, filter) }) {
+        filter: String? = null,
+        priority: RequestPriority? = null
+    ): ApiResult<Pair<List<MangaSummary>, Pagination?>> {
+        return when (val result = jikanCall(priority) { jikanApiService.getTopManga(page, limit, filter) }) {
             is ApiResult.Success -> {
+                index(result.data.data)
                 ApiResult.Success(
                     data = Pair(result.data.data, result.data.pagination),
                     requestId = result.requestId
@@ -49,12 +148,14 @@ class MangaRepository {
         status: String? = null,
         orderBy: String? = null,
         sort: String? = null,
-        genres: String? = null
-    ): ApiResult<Pair<List<Manga>, Pagination?>> {
-        return when (val result = safeApiCall { 
+        genres: String? = null,
+        priority: RequestPriority? = null
+    ): ApiResult<Pair<List<MangaSummary>, Pagination?>> {
+        return when (val result = jikanCall(priority) { 
             jikanApiService.searchManga(query, page, limit, type, status, orderBy, sort, genres) 
         }) {
             is ApiResult.Success -> {
+                index(result.data.data)
                 ApiResult.Success(
                     data = Pair(result.data.data, result.data.pagination),
                     requestId = result.requestId
@@ -65,27 +166,80 @@ class MangaRepository {
         }
     }
     
+    /**
+     * Known manga matching a query, from the on-device index (empty without a database)
+     */
+    suspend fun searchLocal(query: String, limit: Int = 20): List<MangaSummary> {
+        return searchIndex?.search(query, limit).orEmpty()
+    }
+    
+    // Indexing happens off the response path
+    private fun index(summaries: List<MangaSummary>) {
+        val index = searchIndex ?: return
+        flightScope.launch { index.add(summaries) }
+    }
+    
+    private fun index(manga: Manga) {
+        val index = searchIndex ?: return
+        flightScope.launch { index.add(manga) }
+    }
+    
+    /**
+     * Search results page; a query and page searched recently are served from memory.
+     * Queries are compared (and sent) trimmed, lowercased and with single spaces.
+     */
+    fun searchMangaStream(
+        query: String,
+        page: Int = 1,
+        priority: RequestPriority? = null
+    ): Flow<ApiResult<Pair<List<MangaSummary>, Pagination?>>> = flow {
+        val normalized = normalizeQuery(query)
+        val key = "$normalized:$page"
+        val cached = searchCache.get(key)
+        if (cached != null) {
+            emit(ApiResult.Success(cached))
+            return@flow
+        }
+        val result = searchManga(normalized, page = page, priority = priority)
+        if (result is ApiResult.Success) searchCache.put(key, result.data)
+        emit(result)
+    }
+    
     /**
      * Get manga details by ID
+     * Concurrent calls for the same ID share one request (e.g. watchlist refresh + DetailScreen),
+     * and recently loaded details are served from memory
      */
-    suspend fun getMangaById(id: Int): ApiResult<Manga> {
-        return when (val result = safeApiCall { jikanApiService.getMangaById(id) }) {
-            is ApiResult.Success -> {
-                ApiResult.Success(
-                    data = result.data.data,
-                    requestId = result.requestId
-                )
+    suspend fun getMangaById(id: Int, priority: RequestPriority? = null): ApiResult<Manga> {
+        mangaDetailsCache.get(id)?.let { return ApiResult.Success(it) }
+        return fetchMangaById(id, priority)
+    }
+    
+    /** [getMangaById] past the memory cache, for callers that already looked there */
+    private suspend fun fetchMangaById(id: Int, priority: RequestPriority?): ApiResult<Manga> {
+        // The shared call runs outside the caller, so carry the caller's lane over explicitly
+        val lane = RequestPriority.contextElement(priority ?: RequestPriority.current())
+        return mangaByIdFlights.run(id, lane) {
+            when (val result = jikanCall(null) { jikanApiService.getMangaById(id) }) {
+                is ApiResult.Success -> {
+                    mangaDetailsCache.put(id, result.data.data)
+                    index(result.data.data)
+                    ApiResult.Success(
+                        data = result.data.data,
+                        requestId = result.requestId
+                    )
+                }
+                is ApiResult.Error -> result
+                is ApiResult.Loading -> result
             }
-            is ApiResult.Error -> result
-            is ApiResult.Loading -> result
         }
     }
     
     /**
      * Get manga characters
      */
-    suspend fun getMangaCharacters(id: Int): ApiResult<List<CharacterEntry>> {
-        return when (val result = safeApiCall { jikanApiService.getMangaCharacters(id) }) {
+    suspend fun getMangaCharacters(id: Int, priority: RequestPriority? = null): ApiResult<List<CharacterEntry>> {
+        return when (val result = jikanCall(priority) { jikanApiService.getMangaCharacters(id) }) {
             is ApiResult.Success -> {
                 ApiResult.Success(
                     data = result.data.data,
@@ -100,8 +254,8 @@ class MangaRepository {
     /**
      * Get manga recommendations
      */
-    suspend fun getMangaRecommendations(id: Int): ApiResult<List<MangaRecommendation>> {
-        return when (val result = safeApiCall { jikanApiService.getMangaRecommendations(id) }) {
+    suspend fun getMangaRecommendations(id: Int, priority: RequestPriority? = null): ApiResult<List<MangaRecommendation>> {
+        return when (val result = jikanCall(priority) { jikanApiService.getMangaRecommendations(id) }) {
             is ApiResult.Success -> {
                 ApiResult.Success(
                     data = result.data.data,
@@ -116,8 +270,8 @@ class MangaRepository {
     /**
      * Get random manga
      */
-    suspend fun getRandomManga(): ApiResult<Manga> {
-        return when (val result = safeApiCall { jikanApiService.getRandomManga() }) {
+    suspend fun getRandomManga(priority: RequestPriority? = null): ApiResult<Manga> {
+        return when (val result = jikanCall(priority) { jikanApiService.getRandomManga() }) {
             is ApiResult.Success -> {
                 ApiResult.Success(
                     data = result.data.data,
@@ -135,12 +289,14 @@ class MangaRepository {
     suspend fun getMangaByGenre(
         genreIds: String,
         page: Int = 1,
-        limit: Int = 25
-    ): ApiResult<Pair<List<Manga>, Pagination?>> {
-        return when (val result = safeApiCall { 
+        limit: Int = 25,
+        priority: RequestPriority? = null
+    ): ApiResult<Pair<List<MangaSummary>, Pagination?>> {
+        return when (val result = jikanCall(priority) { 
             jikanApiService.getMangaByGenre(genreIds, page, limit) 
         }) {
             is ApiResult.Success -> {
+                index(result.data.data)
                 ApiResult.Success(
                     data = Pair(result.data.data, result.data.pagination),
                     requestId = result.requestId
@@ -154,8 +310,8 @@ class MangaRepository {
     /**
      * Get all manga genres
      */
-    suspend fun getMangaGenres(): ApiResult<List<GenreInfo>> {
-        return when (val result = safeApiCall { jikanApiService.getMangaGenres() }) {
+    suspend fun getMangaGenres(priority: RequestPriority? = null): ApiResult<List<GenreInfo>> {
+        return when (val result = jikanCall(priority) { jikanApiService.getMangaGenres() }) {
             is ApiResult.Success -> {
                 ApiResult.Success(
                     data = result.data.data,
@@ -167,6 +323,73 @@ class MangaRepository {
         }
     }
     
+    // ========== Offline-first streams ==========
+    // Each emits the persisted snapshot first (if any), then the refreshed
+    // response only when it differs. A refresh behind a snapshot that is
+    // already on screen runs in the BACKGROUND lane.
+    
+    /**
+     * Top manga page, offline-first
+     */
+    fun topMangaStream(
+        page: Int = 1,
+        filter: String? = null,
+        priority: RequestPriority? = null,
+        revalidate: Boolean = true
+    ): Flow<ApiResult<Pair<List<MangaSummary>, Pagination?>>> {
+        return snapshotted("top:${filter ?: "all"}:$page", LIST_PAGE_SERIALIZER, revalidate) { hasSnapshot ->
+            getTopManga(page = page, filter = filter, priority = refreshPriority(priority, hasSnapshot))
+        }
+    }
+    
+    /**
+     * Manga of a genre, offline-first
+     */
+    fun mangaByGenreStream(
+        genreIds: String,
+        page: Int = 1,
+        priority: RequestPriority? = null,
+        revalidate: Boolean = true
+    ): Flow<ApiResult<Pair<List<MangaSummary>, Pagination?>>> {
+        return snapshotted("genre:$genreIds:$page", LIST_PAGE_SERIALIZER, revalidate) { hasSnapshot ->
+            getMangaByGenre(genreIds, page = page, priority = refreshPriority(priority, hasSnapshot))
+        }
+    }
+    
+    /**
+     * Genre list, offline-first
+     */
+    fun mangaGenresStream(priority: RequestPriority? = null): Flow<ApiResult<List<GenreInfo>>> {
+        return snapshotted("genres", ListSerializer(GenreInfo.serializer())) { hasSnapshot ->
+            getMangaGenres(refreshPriority(priority, hasSnapshot))
+        }
+    }
+    
+    /**
+     * Manga details, offline-first
+     */
+    fun mangaDetailsStream(id: Int, priority: RequestPriority? = null): Flow<ApiResult<Manga>> {
+        // Still fresh in memory - nothing to revalidate
+        mangaDetailsCache.get(id)?.let { cached -> return flow { emit(ApiResult.Success(cached)) } }
+        return snapshotted("manga:$id", Manga.serializer()) { hasSnapshot ->
+            // Already a miss above - looking again would count it twice
+            fetchMangaById(id, refreshPriority(priority, hasSnapshot))
+        }
+    }
+    
+    private fun <T> snapshotted(
+        key: String,
+        serializer: KSerializer<T>,
+        revalidate: Boolean = true,
+        fetch: suspend (hasSnapshot: Boolean) -> ApiResult<T>
+    ): Flow<ApiResult<T>> {
+        return snapshotStore?.stream(key, serializer, revalidate, fetch) ?: flow { emit(fetch(false)) }
+    }
+    
+    private fun refreshPriority(priority: RequestPriority?, hasSnapshot: Boolean): RequestPriority? {
+        return if (hasSnapshot) RequestPriority.BACKGROUND else priority
+    }
+    
     // ========== MangaDex API Methods ==========
     
     /**
@@ -226,10 +449,11 @@ class MangaRepository {
         mangaId: String,
         limit: Int = 100,
         offset: Int = 0,
-        language: List<String> = listOf("en")
+        language: List<String> = listOf("en"),
+        updatedAtSince: String? = null
     ): ApiResult<Pair<List<MangaDexChapter>, Int?>> {
         return when (val result = safeApiCall { 
-            mangadexApiService.getMangaChapters(mangaId, limit, offset, language) 
+            mangadexApiService.getMangaChapters(mangaId, limit, offset, language, updatedAtSince = updatedAtSince) 
         }) {
             is ApiResult.Success -> {
                 ApiResult.Success(
@@ -242,73 +466,302 @@ class MangaRepository {
         }
     }
     
+    /**
+     * Chapter list of a manga as progressively complete lists (chapters, total).
+     * - Never synced: the whole feed, emitted as pages arrive, stored once complete
+     * - Synced before: the stored list at once, then only chapters updated since the
+     *   newest stored updatedAt are fetched, merged, and the list emitted again if
+     *   anything changed
+     * Chapters removed upstream are not detected by the delta; they stay until
+     * the store is cleared. If a feed page fails after others arrived, the
+     * partial list is followed by the error, so callers know it has gaps.
+     */
+    fun mangaDexChapterList(
+        mangaId: String,
+        language: List<String> = listOf("en")
+    ): Flow<ApiResult<Pair<List<MangaDexChapter>, Int?>>> = flow {
+        val store = chapterStore
+        val stored = store?.load(mangaId, language).orEmpty()
+        if (store == null || stored.isEmpty()) {
+            emitAll(fullChapterSync(mangaId, language, store))
+            return@flow
+        }
+        
+        emit(ApiResult.Success(Pair(stored, stored.size)))
+        
+        val storedVersions = stored.associate { it.id to it.attributes.updatedAt }
+        val changed = mutableListOf<MangaDexChapter>()
+        mangaDexChapterFeed(mangaId, language, updatedAtSince = store.syncPoint(mangaId, language))
+            .collect { result ->
+                // updatedAtSince is inclusive - the newest stored chapter always comes back
+                if (result is ApiResult.Success) {
+                    changed += result.data.chapters.filter { storedVersions[it.id] != it.attributes.updatedAt }
+                }
+            }
+        if (changed.isNotEmpty()) {
+            store.save(mangaId, changed)
+            val merged = store.load(mangaId, language)
+            emit(ApiResult.Success(Pair(merged, merged.size)))
+        }
+    }.flowOn(Dispatchers.IO)
+    
+    private fun fullChapterSync(
+        mangaId: String,
+        language: List<String>,
+        store: ChapterStore?
+    ): Flow<ApiResult<Pair<List<MangaDexChapter>, Int?>>> = flow {
+        val pages = sortedMapOf<Int, List<MangaDexChapter>>()
+        var failure: ApiResult.Error? = null
+        mangaDexChapterFeed(mangaId, language).collect { result ->
+            when (result) {
+                is ApiResult.Success -> {
+                    pages[result.data.offset] = result.data.chapters
+                    emit(ApiResult.Success(Pair(pages.values.flatten(), result.data.total), result.requestId))
+                }
+                is ApiResult.Error -> {
+                    if (failure == null && pages.isEmpty()) emit(result)
+                    failure = result
+                }
+                is ApiResult.Loading -> {}
+            }
+        }
+        // Only a complete list may become the base for delta syncs
+        val error = failure
+        if (error == null) {
+            store?.save(mangaId, pages.values.flatten())
+        } else if (pages.isNotEmpty()) {
+            // The list on screen has gaps - say so after its last part
+            emit(error)
+        }
+    }
+    
+    /**
+     * Whole chapter feed of a manga, streamed page by page.
+     * The first page's total plans the remaining offsets, which are fetched
+     * [concurrency] at a time (the MangaDex rate limiter paces them further).
+     * Pages arrive in completion order - use [ChapterFeedPage.offset] to place them.
+     * A failed page is emitted as an error and the others still load.
+     */
+    fun mangaDexChapterFeed(
+        mangaId: String,
+        language: List<String> = listOf("en"),
+        updatedAtSince: String? = null,
+        pageSize: Int = 100,
+        concurrency: Int = 3
+    ): Flow<ApiResult<ChapterFeedPage>> = channelFlow {
+        val first = getMangaDexChapters(mangaId, pageSize, 0, language, updatedAtSince)
+        if (first !is ApiResult.Success) {
+            if (first is ApiResult.Error) send(first)
+            return@channelFlow
+        }
+        val total = first.data.second ?: first.data.first.size
+        send(ApiResult.Success(ChapterFeedPage(0, first.data.first, total), first.requestId))
+        
+        // MangaDex rejects offset + limit beyond its pagination window
+        val lastOffset = minOf(total, MANGADEX_FEED_WINDOW) - 1
+        val gate = Semaphore(concurrency)
+        for (offset in pageSize..lastOffset step pageSize) {
+            launch {
+                val page = gate.withPermit {
+                    getMangaDexChapters(
+                        mangaId, minOf(pageSize, MANGADEX_FEED_WINDOW - offset), offset, language, updatedAtSince
+                    )
+                }
+                when (page) {
+                    is ApiResult.Success -> send(
+                        ApiResult.Success(ChapterFeedPage(offset, page.data.first, total), page.requestId)
+                    )
+                    is ApiResult.Error -> send(page)
+                    is ApiResult.Loading -> {}
+                }
+            }
+        }
+    }
+    
     /**
      * Get chapter pages from MangaDex
+     * Concurrent calls for the same chapter share one at-home/server request.
+     * Not cached: at-home URLs expire after about 15 minutes.
      */
-    suspend fun getChapterPages(chapterId: String): ApiResult<MangaDexChapterPages> {
-        return when (val result = safeApiCall { 
-            mangadexApiService.getChapterPages(chapterId) 
-        }) {
-            is ApiResult.Success -> {
-                ApiResult.Success(
-                    data = result.data,
-                    requestId = result.requestId
-                )
+    suspend fun getChapterPages(chapterId: String, priority: RequestPriority? = null): ApiResult<MangaDexChapterPages> {
+        val lane = RequestPriority.contextElement(priority ?: RequestPriority.current())
+        return chapterPagesFlights.run(chapterId, lane) {
+            when (val result = safeApiCall { 
+                mangadexApiService.getChapterPages(chapterId) 
+            }) {
+                is ApiResult.Success -> {
+                    ApiResult.Success(
+                        data = result.data,
+                        requestId = result.requestId
+                    )
+                }
+                is ApiResult.Error -> result
+                is ApiResult.Loading -> result
             }
-            is ApiResult.Error -> result
-            is ApiResult.Loading -> result
         }
     }
     
     /**
-     * Get all MangaDex tags
+     * MangaDex id to read a MAL entry from, or null if none was found.
+     * Resolved once by title search, then served from the mapping table;
+     * weak title-only matches are searched again after [WEAK_MAPPING_TTL_MILLIS].
+     */
+    suspend fun resolveMangaDexId(malId: Int, title: String): String? {
+        val dao = mangaDexMappingDao
+        dao?.getMapping(malId)?.takeIf { it.isUsable() }?.let { return it.mangaDexId }
+        
+        return mangaDexIdFlights.run(malId) {
+            val result = searchMangaDex(
+                title = title,
+                limit = 5, // Only need first few results
+                contentRating = listOf("safe", "suggestive") // Force safe content only (from MyApplication1)
+            )
+            val candidates = (result as? ApiResult.Success)?.data?.first ?: return@run null
+            val (match, confidence) = MangaDexMatcher.bestMatch(candidates, malId, title) ?: return@run null
+            dao?.upsertMapping(MangaDexMapping(malId, match.id, confidence))
+            match.id
+        }
+    }
+    
+    /**
+     * Resolve MangaDex ids for entries that have no usable mapping yet
+     * (e.g. the watchlist, so "Read" is instant there). One search at a time.
+     * @param entries MAL id to title
+     */
+    suspend fun resolveMangaDexIds(entries: List<Pair<Int, String>>) {
+        val dao = mangaDexMappingDao ?: return
+        if (entries.isEmpty()) return
+        val known = dao.getMappings(entries.map { it.first })
+            .filter { it.isUsable() }
+            .map { it.malId }
+            .toSet()
+        entries.filter { it.first !in known }.forEach { (malId, title) ->
+            resolveMangaDexId(malId, title)
+        }
+    }
+    
+    private fun MangaDexMapping.isUsable(): Boolean {
+        return confidence >= MangaDexMatcher.TITLE_MATCH ||
+            System.currentTimeMillis() - resolvedAt < WEAK_MAPPING_TTL_MILLIS
+    }
+    
+    /**
+     * Get all MangaDex tags (from the local tag dictionary, see [getMangaDexTagIndex])
      */
     suspend fun getMangaDexTags(): ApiResult<List<MangaDexTag>> {
-        return when (val result = safeApiCall { 
-            mangadexApiService.getTags() 
-        }) {
-            is ApiResult.Success -> {
-                ApiResult.Success(
-                    data = result.data.data,
-                    requestId = result.requestId
-                )
-            }
+        return when (val result = getMangaDexTagIndex()) {
+            is ApiResult.Success -> ApiResult.Success(result.data.tags, result.requestId)
             is ApiResult.Error -> result
             is ApiResult.Loading -> result
         }
     }
     
     /**
-     * Get tag IDs by names (for filtering)
+     * MangaDex tag dictionary: memory, then the stored copy, then the network.
+     * The tag list barely changes, so a copy younger than [TAG_INDEX_TTL_MILLIS]
+     * is used as is, and an older one is still better than failing offline.
+     * Concurrent calls share one load (e.g. loadMangaDexTags + getTagIdsByNames).
+     */
+    suspend fun getMangaDexTagIndex(): ApiResult<MangaDexTagIndex> {
+        tagIndex?.takeIf { it.isFresh() }?.let { return ApiResult.Success(it) }
+        
+        return mangaDexTagsFlights.run(Unit) {
+            val stored = tagIndex ?: snapshotStore?.read(TAG_INDEX_KEY, TAG_LIST_SERIALIZER)
+                ?.let { (tags, fetchedAt) -> MangaDexTagIndex(tags, fetchedAt) }
+                ?.also { tagIndex = it }
+            if (stored != null && stored.isFresh()) {
+                return@run ApiResult.Success(stored)
+            }
+            
+            when (val result = safeApiCall { 
+                mangadexApiService.getTags() 
+            }) {
+                is ApiResult.Success -> {
+                    val index = MangaDexTagIndex(result.data.data, System.currentTimeMillis())
+                    snapshotStore?.write(TAG_INDEX_KEY, TAG_LIST_SERIALIZER, index.tags, index.fetchedAt)
+                    tagIndex = index
+                    ApiResult.Success(
+                        data = index,
+                        requestId = result.requestId
+                    )
+                }
+                is ApiResult.Error -> stored?.let { ApiResult.Success(it) } ?: result
+                is ApiResult.Loading -> result
+            }
+        }
+    }
+    
+    private fun MangaDexTagIndex.isFresh(): Boolean {
+        return System.currentTimeMillis() - fetchedAt < TAG_INDEX_TTL_MILLIS
+    }
+    
+    /**
+     * Get tag IDs by names (for filtering) - names in any locale, case-insensitive
      */
     suspend fun getTagIdsByNames(
         includedNames: List<String>,
         excludedNames: List<String>
     ): ApiResult<Pair<List<String>, List<String>>> {
-        return when (val tagsResult = getMangaDexTags()) {
+        return when (val indexResult = getMangaDexTagIndex()) {
             is ApiResult.Success -> {
-                val tags = tagsResult.data
-                val includedIds = tags
-                    .filter { tag -> includedNames.any { name -> 
-                        tag.getName().equals(name, ignoreCase = true) 
-                    }}
-                    .map { it.id }
-                val excludedIds = tags
-                    .filter { tag -> excludedNames.any { name -> 
-                        tag.getName().equals(name, ignoreCase = true) 
-                    }}
-                    .map { it.id }
+                val index = indexResult.data
                 ApiResult.Success(
-                    data = Pair(includedIds, excludedIds),
-                    requestId = tagsResult.requestId
+                    data = Pair(index.idsOf(includedNames), index.idsOf(excludedNames)),
+                    requestId = indexResult.requestId
                 )
             }
-            is ApiResult.Error -> tagsResult
-            is ApiResult.Loading -> tagsResult
+            is ApiResult.Error -> indexResult
+            is ApiResult.Loading -> indexResult
         }
     }
     
     companion object {
+        private const val DETAILS_CACHE_BYTES = 4L * 1024 * 1024
+        private val DETAILS_CACHE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(15)
+        
+        /**
+         * Rough retained size of a Manga: string payloads (UTF-16) plus
+         * per-object overhead. Synopsis and background dominate.
+         */
+        private fun estimateSizeBytes(manga: Manga): Long {
+            fun str(value: String?): Long = if (value == null) 0 else 40L + 2L * value.length
+            fun entities(count: Int?): Long = (count ?: 0) * 160L
+            return 200L +
+                str(manga.url) + str(manga.title) + str(manga.titleEnglish) + str(manga.titleJapanese) +
+                str(manga.synopsis) + str(manga.background) + str(manga.published?.string) +
+                (manga.titles?.sumOf { 32L + str(it.title) } ?: 0L) +
+                entities(manga.authors?.size) + entities(manga.serializations?.size) +
+                entities(manga.genres?.size) + entities(manga.themes?.size) + entities(manga.demographics?.size) +
+                6 * 120L // image URLs
+        }
+        
+        private fun estimateSizeBytes(summary: MangaSummary): Long {
+            fun str(value: String?): Long = if (value == null) 0 else 40L + 2L * value.length
+            return 120L + str(summary.title) + str(summary.titleEnglish) + str(summary.type) + str(summary.status) +
+                (summary.genres?.sumOf { 32L + str(it.name) } ?: 0L) +
+                6 * 120L // image URLs
+        }
+        
+        private const val SEARCH_CACHE_BYTES = 1L * 1024 * 1024
+        private val SEARCH_CACHE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10)
+        
+        private val WHITESPACE = Regex("\\s+")
+        
+        fun normalizeQuery(query: String): String = query.trim().replace(WHITESPACE, " ").lowercase(Locale.ROOT)
+        
+        private const val MANGADEX_FEED_WINDOW = 10_000
+        
+        private val WEAK_MAPPING_TTL_MILLIS = TimeUnit.DAYS.toMillis(7)
+        
+        private const val TAG_INDEX_KEY = "mangadex:tags"
+        private val TAG_INDEX_TTL_MILLIS = TimeUnit.DAYS.toMillis(7)
+        private val TAG_LIST_SERIALIZER = ListSerializer(MangaDexTag.serializer())
+        
+        private val LIST_PAGE_SERIALIZER = PairSerializer(
+            ListSerializer(MangaSummary.serializer()),
+            Pagination.serializer().nullable
+        )
+        
         @Volatile
         private var instance: MangaRepository? = null
         
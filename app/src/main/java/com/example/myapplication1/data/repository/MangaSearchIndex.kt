@@ -0,0 +1,122 @@
+package com.example.myapplication1.data.repository
+
+import android.database.sqlite.SQLiteException
+import android.util.Log
+import com.example.myapplication1.data.local.dao.MangaSearchDao
+import com.example.myapplication1.data.local.entity.MangaSearchEntry
+import com.example.myapplication1.data.model.Manga
+import com.example.myapplication1.data.model.MangaSummary
+import com.example.myapplication1.data.model.toSummary
+import com.example.myapplication1.data.network.StreamingJsonConverterFactory
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.serialization.json.Json
+import java.util.Locale
+
+/**
+ * Manga Search Index - on-device full-text search over every manga the app has seen
+ *
+ * Fed from list and detail responses. List entries carry the title and English
+ * title; details add the Japanese and alternative titles and the authors. A
+ * later, thinner record never blanks what an earlier one filled in.
+ */
+class MangaSearchIndex(
+    private val dao: MangaSearchDao,
+    private val json: Json = StreamingJsonConverterFactory.DEFAULT_JSON
+) {
+
+    // Merges are read-modify-write
+    private val writeLock = Mutex()
+
+    suspend fun add(summaries: List<MangaSummary>) {
+        if (summaries.isEmpty()) return
+        merge(summaries.map { summary ->
+            MangaSearchEntry(
+                malId = summary.malId,
+                title = summary.title,
+                titleEnglish = summary.titleEnglish.orEmpty(),
+                titleJapanese = "",
+                alternativeTitles = "",
+                authors = "",
+                summary = json.encodeToString(MangaSummary.serializer(), summary)
+            )
+        })
+    }
+
+    suspend fun add(manga: Manga) {
+        merge(listOf(
+            MangaSearchEntry(
+                malId = manga.malId,
+                title = manga.title,
+                titleEnglish = manga.titleEnglish.orEmpty(),
+                titleJapanese = manga.titleJapanese.orEmpty(),
+                alternativeTitles = manga.titles.orEmpty().mapNotNull { it.title }.distinct().joinToString(" "),
+                authors = manga.authors.orEmpty().mapNotNull { it.name }.joinToString(" "),
+                summary = json.encodeToString(MangaSummary.serializer(), manga.toSummary())
+            )
+        ))
+    }
+
+    /**
+     * Known manga whose titles or authors have words starting with every word of
+     * [query], title prefix matches first
+     */
+    suspend fun search(query: String, limit: Int = 20): List<MangaSummary> {
+        val match = matchExpression(query) ?: return emptyList()
+        val folded = query.trim().lowercase(Locale.ROOT)
+        // Title prefix matches win the LIMIT in SQL; the score order is applied to the extra candidates
+        return dao.search(match, likePrefix(folded), limit * CANDIDATES_PER_RESULT)
+            .mapNotNull { entry -> decode(entry) }
+            .sortedWith(
+                compareByDescending<MangaSummary> { it.title.lowercase(Locale.ROOT).startsWith(folded) }
+                    .thenByDescending { it.score ?: 0.0 }
+            )
+            .take(limit)
+    }
+
+    private suspend fun merge(entries: List<MangaSearchEntry>) = writeLock.withLock {
+        try {
+            val existing = dao.getEntries(entries.map { it.malId }).associateBy { it.malId }
+            dao.upsertEntries(entries.map { entry ->
+                val old = existing[entry.malId] ?: return@map entry
+                entry.copy(
+                    titleEnglish = entry.titleEnglish.ifEmpty { old.titleEnglish },
+                    titleJapanese = entry.titleJapanese.ifEmpty { old.titleJapanese },
+                    alternativeTitles = entry.alternativeTitles.ifEmpty { old.alternativeTitles },
+                    authors = entry.authors.ifEmpty { old.authors }
+                )
+            })
+        } catch (e: SQLiteException) {
+            // Best effort - a missed entry only means one less offline hit
+            Log.w(TAG, "Indexing failed: ${e.message}")
+        }
+    }
+
+    private fun decode(entry: MangaSearchEntry): MangaSummary? {
+        return try {
+            json.decodeFromString(MangaSummary.serializer(), entry.summary)
+        } catch (e: IllegalArgumentException) {
+            null // Written by an older model version - replaced next time the manga is seen
+        }
+    }
+
+    companion object {
+        private const val TAG = "MangaSearchIndex"
+        private val NON_WORD = Regex("[^\\p{L}\\p{N}]+")
+        private const val CANDIDATES_PER_RESULT = 3
+
+        /** LIKE pattern for titles starting with [prefix], wildcards in it escaped */
+        fun likePrefix(prefix: String): String {
+            return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%"
+        }
+
+        /**
+         * Every word of the query as a prefix term (`one* piec*`); punctuation and
+         * FTS operators are dropped. Null when nothing searchable is left.
+         */
+        fun matchExpression(query: String): String? {
+            val terms = query.lowercase(Locale.ROOT).split(NON_WORD).filter { it.isNotEmpty() }
+            return if (terms.isEmpty()) null else terms.joinToString(" ") { "$it*" }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.myapplication1.data.repository
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Memory Cache - LRU bounded by estimated byte size, with a per-entry TTL
+ *
+ * Entries are weighed with [sizeOf] on insert; least recently used entries
+ * are evicted until the total fits [maxSizeBytes]. An entry older than its
+ * TTL counts as a miss and is dropped on access.
+ */
+class MemoryCache<K : Any, V : Any>(
+    private val maxSizeBytes: Long,
+    private val defaultTtlMillis: Long,
+    private val sizeOf: (V) -> Long,
+    private val clock: () -> Long = { TimeUnit.NANOSECONDS.toMillis(System.nanoTime()) }
+) {
+
+    private class Entry<V>(val value: V, val sizeBytes: Long, val expiresAt: Long)
+
+    // Access order: iteration starts at the least recently used entry
+    private val entries = LinkedHashMap<K, Entry<V>>(16, 0.75f, true)
+    private var sizeBytes = 0L
+
+    val hits = AtomicLong()
+    val misses = AtomicLong()
+    val evictions = AtomicLong()
+    val expirations = AtomicLong()
+
+    fun get(key: K): V? = synchronized(entries) {
+        val entry = entries[key]
+        when {
+            entry == null -> {
+                misses.incrementAndGet()
+                null
+            }
+            entry.expiresAt <= clock() -> {
+                remove(key, entry)
+                expirations.incrementAndGet()
+                misses.incrementAndGet()
+                null
+            }
+            else -> {
+                hits.incrementAndGet()
+                entry.value
+            }
+        }
+    }
+
+    fun put(key: K, value: V, ttlMillis: Long = defaultTtlMillis) = synchronized(entries) {
+        val size = sizeOf(value)
+        entries[key]?.let { remove(key, it) }
+        // Larger than the whole cache - keeping it would evict everything else
+        if (size > maxSizeBytes) return@synchronized
+
+        entries[key] = Entry(value, size, clock() + ttlMillis)
+        sizeBytes += size
+        trimToSize()
+    }
+
+    fun invalidate(key: K) = synchronized(entries) {
+        entries[key]?.let { remove(key, it) }
+    }
+
+    fun clear() = synchronized(entries) {
+        entries.clear()
+        sizeBytes = 0
+    }
+
+    fun sizeBytes(): Long = synchronized(entries) { sizeBytes }
+
+    private fun trimToSize() {
+        val iterator = entries.entries.iterator()
+        while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+            val eldest = iterator.next()
+            iterator.remove()
+            sizeBytes -= eldest.value.sizeBytes
+            evictions.incrementAndGet()
+        }
+    }
+
+    private fun remove(key: K, entry: Entry<V>) {
+        entries.remove(key)
+        sizeBytes -= entry.sizeBytes
+    }
+
+    override fun toString(): String {
+        return "hits=${hits.get()} misses=${misses.get()} evictions=${evictions.get()} " +
+            "expirations=${expirations.get()} size=${sizeBytes()}B/${maxSizeBytes}B"
+    }
+}
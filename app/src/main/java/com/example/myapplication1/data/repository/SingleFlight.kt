@@ -0,0 +1,69 @@
+package com.example.myapplication1.data.repository
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+
+/**
+ * Single-flight request coalescing
+ *
+ * Concurrent callers asking for the same key share one execution of the block
+ * (one network call, one parsed result). The shared work runs in [scope], not in
+ * any caller, so a caller that is cancelled only stops waiting - the others keep
+ * their result. The work itself is cancelled only when every waiter has left.
+ * Once it completes the key is forgotten, so the next call starts a fresh flight.
+ */
+class SingleFlight<K : Any, V>(private val scope: CoroutineScope) {
+
+    private class Flight<V>(val deferred: Deferred<V>) {
+        var waiters = 0
+    }
+
+    private val flights = HashMap<K, Flight<V>>()
+
+    /**
+     * Run [block] for [key], or join the flight already running for it.
+     * @param context Extra context for the shared work when this call starts it
+     */
+    suspend fun run(
+        key: K,
+        context: CoroutineContext = EmptyCoroutineContext,
+        block: suspend () -> V
+    ): V {
+        var started = false
+        val flight = synchronized(flights) {
+            val joined = flights[key] ?: Flight(scope.async(context, start = CoroutineStart.LAZY) { block() })
+                .also {
+                    flights[key] = it
+                    started = true
+                }
+            joined.waiters++
+            joined
+        }
+
+        if (started) {
+            flight.deferred.invokeOnCompletion {
+                synchronized(flights) {
+                    if (flights[key] === flight) flights.remove(key)
+                }
+            }
+            flight.deferred.start()
+        }
+
+        try {
+            return flight.deferred.await()
+        } finally {
+            synchronized(flights) {
+                flight.waiters--
+                // Last waiter gone while still running - nobody wants the result
+                if (flight.waiters == 0 && flight.deferred.isActive) {
+                    if (flights[key] === flight) flights.remove(key)
+                    flight.deferred.cancel()
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.myapplication1.data.repository
+
+import android.util.Log
+import com.example.myapplication1.data.local.dao.ResponseSnapshotDao
+import com.example.myapplication1.data.local.entity.ResponseSnapshot
+import com.example.myapplication1.data.network.ApiResult
+import com.example.myapplication1.data.network.StreamingJsonConverterFactory
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.json.Json
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Snapshot Store - stale-while-revalidate over persisted API responses
+ *
+ * [stream] emits the last stored response for a key straight away, then
+ * fetches a fresh one and emits it only if its content differs from what was
+ * already shown. With no network, the snapshot is all the screen gets - and
+ * that is enough to paint it.
+ */
+class SnapshotStore(
+    private val dao: ResponseSnapshotDao,
+    private val json: Json = StreamingJsonConverterFactory.DEFAULT_JSON,
+    /** Snapshots not revalidated for this long are dropped */
+    private val retentionMillis: Long = TimeUnit.DAYS.toMillis(30)
+) {
+
+    private val pruned = AtomicBoolean(false)
+
+    /**
+     * @param fetch Loads the fresh value; told whether a snapshot is already on screen,
+     * so the refresh can go in a lower priority lane
+     * @param revalidate false to stop at the snapshot when there is one (fetch only if missing)
+     */
+    fun <T> stream(
+        key: String,
+        serializer: KSerializer<T>,
+        revalidate: Boolean = true,
+        fetch: suspend (hasSnapshot: Boolean) -> ApiResult<T>
+    ): Flow<ApiResult<T>> = flow {
+        pruneOnce()
+
+        val snapshot = dao.getSnapshot(key)
+        val cached = snapshot?.let { decode(serializer, it) }
+        if (cached != null) {
+            emit(ApiResult.Success(cached))
+            if (!revalidate) return@flow
+        }
+
+        when (val result = fetch(cached != null)) {
+            is ApiResult.Success -> {
+                val payload = json.encodeToString(serializer, result.data)
+                val now = System.currentTimeMillis()
+                if (cached != null && payload == snapshot.payload) {
+                    dao.touchSnapshot(key, now)
+                } else {
+                    dao.upsertSnapshot(ResponseSnapshot(key, payload, now))
+                    emit(result)
+                }
+            }
+            is ApiResult.Error -> emit(result)
+            is ApiResult.Loading -> Unit
+        }
+    }.flowOn(Dispatchers.IO)
+
+    /**
+     * Stored value for a key and when it was fetched, for callers that manage
+     * their own freshness instead of revalidating on every read
+     */
+    suspend fun <T> read(key: String, serializer: KSerializer<T>): Pair<T, Long>? {
+        pruneOnce()
+        val snapshot = dao.getSnapshot(key) ?: return null
+        val value = decode(serializer, snapshot) ?: return null
+        return Pair(value, snapshot.fetchedAt)
+    }
+
+    suspend fun <T> write(key: String, serializer: KSerializer<T>, value: T, fetchedAt: Long = System.currentTimeMillis()) {
+        dao.upsertSnapshot(ResponseSnapshot(key, json.encodeToString(serializer, value), fetchedAt))
+    }
+
+    private fun <T> decode(serializer: KSerializer<T>, snapshot: ResponseSnapshot): T? {
+        return try {
+            json.decodeFromString(serializer, snapshot.payload)
+        } catch (e: IllegalArgumentException) {
+            // SerializationException included: written by an older model version -
+            // treat as missing, the fetch replaces it
+            Log.w(TAG, "Dropping unreadable snapshot ${snapshot.cacheKey}: ${e.message}")
+            null
+        }
+    }
+
+    private suspend fun pruneOnce() {
+        if (pruned.compareAndSet(false, true)) {
+            dao.deleteSnapshotsOlderThan(System.currentTimeMillis() - retentionMillis)
+        }
+    }
+
+    companion object {
+        private const val TAG = "SnapshotStore"
+    }
+}
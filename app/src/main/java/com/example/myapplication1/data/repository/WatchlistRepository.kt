@@ -47,14 +47,16 @@ class WatchlistRepository private constructor(database: AppDatabase) {
                 return Result.failure(IllegalArgumentException("Manga already in watchlist"))
             }
             
+            val now = System.currentTimeMillis()
             val item = WatchlistItem(
                 userId = userId,
                 mangaId = manga.malId,
                 mangaTitle = manga.title,
-                mangaImageUrl = manga.images?.jpg?.imageUrl ?: manga.images?.webp?.imageUrl,
+                mangaImageUrl = imageUrlOf(manga),
                 mangaSynopsis = manga.synopsis,
                 mangaScore = manga.score,
-                addedAt = System.currentTimeMillis()
+                addedAt = now,
+                detailsRefreshedAt = now
             )
             
             val id = watchlistDao.insertWatchlistItem(item)
@@ -110,6 +112,31 @@ class WatchlistRepository private constructor(database: AppDatabase) {
         }
     }
     
+    /**
+     * Copy fresh manga details into their watchlist items, all in one write
+     * (one Room emission for the whole batch)
+     */
+    suspend fun updateDetails(refreshed: List<Pair<WatchlistItem, Manga>>): Result<Unit> {
+        if (refreshed.isEmpty()) return Result.success(Unit)
+        return try {
+            val now = System.currentTimeMillis()
+            watchlistDao.updateWatchlistItems(refreshed.map { (item, manga) ->
+                item.copy(
+                    mangaTitle = manga.title,
+                    mangaImageUrl = imageUrlOf(manga) ?: item.mangaImageUrl,
+                    mangaSynopsis = manga.synopsis,
+                    mangaScore = manga.score,
+                    detailsRefreshedAt = now
+                )
+            })
+            Result.success(Unit)
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+    
+    private fun imageUrlOf(manga: Manga): String? = manga.images?.jpg?.imageUrl ?: manga.images?.webp?.imageUrl
+    
     companion object {
         @Volatile
         private var INSTANCE: WatchlistRepository? = null
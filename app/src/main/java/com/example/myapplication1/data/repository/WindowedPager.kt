@@ -0,0 +1,262 @@
+package com.example.myapplication1.data.repository
+
+import com.example.myapplication1.data.model.Pagination
+import com.example.myapplication1.data.network.ApiResult
+import com.example.myapplication1.data.network.RequestPriority
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.launch
+
+/**
+ * Paging State - what a paged list screen renders
+ */
+data class PagingState<T : Any>(
+    val items: PagedItems<T> = PagedItems.empty(),
+    val isLoading: Boolean = false,
+    val error: String? = null,
+    val pagination: Pagination? = null,
+    val canLoadMore: Boolean = false
+)
+
+/**
+ * Paged Items - read-only view over a window of loaded pages
+ *
+ * Indexes cover every page seen so far, so scroll positions stay put; an
+ * index in a page outside the window reads as null (a placeholder) until the
+ * page is loaded again. A new view shares the page offsets of the previous
+ * one and copies only the window, so building it costs the same on page 3
+ * as on page 300.
+ */
+class PagedItems<T : Any> internal constructor(
+    /** offsets[i] = first index of page i + 1; offsets[pageCount] = size */
+    private val offsets: IntArray,
+    /** Number of pages seen */
+    val pageCount: Int,
+    private val pages: Map<Int, List<T>>
+) : AbstractList<T?>() {
+
+    override val size: Int get() = offsets[pageCount]
+
+    override fun get(index: Int): T? {
+        val page = pageOf(index)
+        return pages[page]?.getOrNull(index - offsets[page - 1])
+    }
+
+    /** Jikan page (1-based) holding [index] */
+    fun pageOf(index: Int): Int {
+        if (index < 0 || index >= size) throw IndexOutOfBoundsException("Index $index, size $size")
+        // Last page starting at or before index - skips pages emptied by filtering
+        var low = 0
+        var high = pageCount - 1
+        while (low < high) {
+            val mid = (low + high + 1) ushr 1
+            if (offsets[mid] <= index) low = mid else high = mid - 1
+        }
+        return low + 1
+    }
+
+    /** Stable list key: the slot, not the item - a placeholder and the item replacing it share it */
+    fun key(index: Int): String {
+        val page = pageOf(index)
+        return "$page:${index - offsets[page - 1]}"
+    }
+
+    // Identity only - element-wise comparison would walk every index on each state update
+    override fun equals(other: Any?): Boolean = this === other
+
+    override fun hashCode(): Int = System.identityHashCode(this)
+
+    companion object {
+        private val EMPTY = PagedItems<Any>(IntArray(1), 0, emptyMap())
+
+        @Suppress("UNCHECKED_CAST")
+        fun <T : Any> empty(): PagedItems<T> = EMPTY as PagedItems<T>
+    }
+}
+
+/**
+ * Windowed Pager - Jikan-page paging with a bounded number of pages in memory
+ *
+ * - Pages are keyed by Jikan `page` and fetched in order as the end comes
+ *   within [prefetchDistance] items of the viewport
+ * - At most [windowPages] pages are held; the ones farthest from the viewport
+ *   are dropped and leave placeholders (page 1 stays - Home previews it)
+ * - A dropped page coming back into range is reloaded cache-first
+ *
+ * The screen reports what it shows through [onVisibleRange]. Runs on the
+ * caller's scope, which must be single-threaded (viewModelScope).
+ */
+class WindowedPager<T : Any>(
+    private val scope: CoroutineScope,
+    private val windowPages: Int = 5,
+    private val prefetchDistance: Int = 10,
+    /** Stream for one page; [cachedOnly] asks for the stored copy without revalidating it */
+    private val load: (page: Int, priority: RequestPriority, cachedOnly: Boolean) -> Flow<ApiResult<Pair<List<T>, Pagination?>>>,
+    /** Applied to every page as it arrives (content filtering) */
+    private val transform: (List<T>) -> List<T> = { it }
+) {
+
+    private val _state = MutableStateFlow(PagingState<T>())
+    val state: StateFlow<PagingState<T>> = _state.asStateFlow()
+
+    private var offsets = IntArray(16)
+    private var pageCount = 0
+    private val loaded = HashMap<Int, List<T>>()
+    private val loading = HashMap<Int, Job>()
+    private var pagination: Pagination? = null
+    private var error: String? = null
+    private var visibleFirst = 0
+    private var visibleLast = 0
+
+    /** Drop everything and load page 1 again */
+    fun refresh(priority: RequestPriority = RequestPriority.INTERACTIVE) {
+        clear()
+        loadPage(1, priority, cachedOnly = false)
+    }
+
+    /** Drop everything, cancelling loads in flight */
+    fun clear() {
+        loading.values.forEach { it.cancel() }
+        loading.clear()
+        loaded.clear()
+        offsets = IntArray(16)
+        pageCount = 0
+        pagination = null
+        error = null
+        visibleFirst = 0
+        visibleLast = 0
+        publish()
+    }
+
+    /** Load page 1 unless it is already there or on its way */
+    fun start() {
+        if (pageCount == 0 && loading.isEmpty()) refresh()
+    }
+
+    /** Append the next page (explicit "load more") */
+    fun loadMore() {
+        val next = pageCount + 1
+        if (pageCount > 0 && pagination?.hasNextPage == true && next !in loading) {
+            loadPage(next, RequestPriority.VISIBLE_PREFETCH, cachedOnly = false)
+        }
+    }
+
+    /** Viewport moved: prefetch the next page, bring dropped pages near the viewport back */
+    fun onVisibleRange(first: Int, last: Int) {
+        visibleFirst = first
+        visibleLast = last
+        val size = offsets[pageCount]
+        if (size == 0) {
+            // Everything so far was filtered out - nothing to scroll, keep going
+            loadMore()
+            return
+        }
+
+        if (last >= size - prefetchDistance) loadMore()
+
+        val from = pageOfIndex((first - prefetchDistance).coerceIn(0, size - 1))
+        val to = pageOfIndex((last + prefetchDistance).coerceIn(0, size - 1))
+        for (page in from..to) {
+            if (page !in loaded && page !in loading) {
+                loadPage(page, RequestPriority.VISIBLE_PREFETCH, cachedOnly = true)
+            }
+        }
+    }
+
+    private fun loadPage(page: Int, priority: RequestPriority, cachedOnly: Boolean) {
+        val isAppend = page == pageCount + 1
+        if (isAppend) error = null
+        // Started lazily so the job is registered before it can finish
+        val job = scope.launch(start = CoroutineStart.LAZY) {
+            var shown = false
+            try {
+                load(page, priority, cachedOnly).collect { result ->
+                    when (result) {
+                        is ApiResult.Success -> {
+                            val (items, pagination) = result.data
+                            put(page, transform(items), pagination)
+                            shown = true
+                        }
+                        is ApiResult.Error -> {
+                            // A reload that fails leaves the placeholder; the next scroll retries it
+                            if (!shown && isAppend) error = result.message
+                        }
+                        is ApiResult.Loading -> {}
+                    }
+                }
+            } finally {
+                if (loading[page] === coroutineContext[Job]) loading.remove(page)
+                publish()
+            }
+        }
+        loading[page] = job
+        job.start()
+        publish()
+    }
+
+    private fun put(page: Int, items: List<T>, pagination: Pagination?) {
+        when {
+            page == pageCount + 1 -> {
+                if (pageCount + 1 >= offsets.size) offsets = offsets.copyOf(offsets.size * 2)
+                offsets[pageCount + 1] = offsets[pageCount] + items.size
+                pageCount++
+            }
+            page > pageCount -> return // Pages only grow one at a time; a stray late page is dropped
+            offsets[page] - offsets[page - 1] != items.size -> {
+                // The page changed size since it was first seen - earlier views keep their copy
+                val resized = offsets.copyOf()
+                val delta = items.size - (offsets[page] - offsets[page - 1])
+                for (i in page..pageCount) resized[i] += delta
+                offsets = resized
+            }
+        }
+        if (page == pageCount && pagination != null) this.pagination = pagination
+        loaded[page] = items
+        trimWindow()
+        publish()
+
+        // An append that left the end still in view (or a page emptied by filtering) asks for the next one
+        onVisibleRange(visibleFirst, visibleLast)
+    }
+
+    private fun trimWindow() {
+        if (loaded.size <= windowPages) return
+        val size = offsets[pageCount]
+        val center = if (size == 0) 1 else pageOfIndex(((visibleFirst + visibleLast) / 2).coerceIn(0, size - 1))
+        // Pages onVisibleRange would load straight back - dropping them would loop
+        val inRange = if (size == 0) 1..1 else {
+            pageOfIndex((visibleFirst - prefetchDistance).coerceIn(0, size - 1))..
+                pageOfIndex((visibleLast + prefetchDistance).coerceIn(0, size - 1))
+        }
+        while (loaded.size > windowPages) {
+            val farthest = loaded.keys.filter { it != 1 && it !in inRange }
+                .maxByOrNull { kotlin.math.abs(it - center) } ?: return
+            loaded.remove(farthest)
+        }
+    }
+
+    private fun pageOfIndex(index: Int): Int {
+        var low = 0
+        var high = pageCount - 1
+        while (low < high) {
+            val mid = (low + high + 1) ushr 1
+            if (offsets[mid] <= index) low = mid else high = mid - 1
+        }
+        return low + 1
+    }
+
+    private fun publish() {
+        _state.value = PagingState(
+            items = PagedItems(offsets, pageCount, HashMap(loaded)),
+            isLoading = (pageCount + 1) in loading,
+            error = error,
+            pagination = pagination,
+            canLoadMore = pageCount > 0 && pagination?.hasNextPage == true
+        )
+    }
+}
@@ -26,7 +26,7 @@ import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.unit.dp
 import coil.compose.AsyncImage
 import coil.request.ImageRequest
-import com.example.myapplication1.data.model.Manga
+import com.example.myapplication1.data.model.MangaSummary
 import com.example.myapplication1.data.model.getDisplayTitle
 import com.example.myapplication1.data.model.getGenreNames
 import com.example.myapplication1.data.model.getImageUrl
@@ -37,7 +37,7 @@ import com.example.myapplication1.ui.theme.*
  */
 @Composable
 fun MangaCardFeatured(
-    manga: Manga,
+    manga: MangaSummary,
     onClick: () -> Unit,
     modifier: Modifier = Modifier
 ) {
@@ -167,7 +167,7 @@ fun MangaCardFeatured(
  */
 @Composable
 fun MangaCardCompact(
-    manga: Manga,
+    manga: MangaSummary,
     onClick: () -> Unit,
     modifier: Modifier = Modifier
 ) {
@@ -284,7 +284,7 @@ fun MangaCardCompact(
  */
 @Composable
 fun MangaListItem(
-    manga: Manga,
+    manga: MangaSummary,
     onClick: () -> Unit,
     modifier: Modifier = Modifier,
     rank: Int? = null
@@ -412,6 +412,38 @@ fun MangaListItem(
     }
 }
 
+/**
+ * Manga List Item Placeholder - empty slot of the same height, for items not in memory
+ */
+@Composable
+fun MangaListItemPlaceholder(
+    modifier: Modifier = Modifier
+) {
+    Card(
+        modifier = modifier
+            .fillMaxWidth()
+            .height(124.dp),
+        shape = RoundedCornerShape(12.dp),
+        colors = CardDefaults.cardColors(containerColor = InkBlackCard.copy(alpha = 0.5f))
+    ) {}
+}
+
+/**
+ * Manga Card Compact Placeholder - empty grid slot, for items not in memory
+ */
+@Composable
+fun MangaCardCompactPlaceholder(
+    modifier: Modifier = Modifier
+) {
+    Card(
+        modifier = modifier
+            .fillMaxWidth()
+            .height(250.dp),
+        shape = RoundedCornerShape(12.dp),
+        colors = CardDefaults.cardColors(containerColor = InkBlackCard.copy(alpha = 0.5f))
+    ) {}
+}
+
 /**
  * Genre Chip
  */
@@ -0,0 +1,102 @@
+package com.example.myapplication1.ui.components
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.Color
+import android.graphics.drawable.BitmapDrawable
+import android.graphics.drawable.Drawable
+import coil.ImageLoader
+import coil.disk.DiskCache
+import coil.memory.MemoryCache
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.math.abs
+
+/**
+ * Reader Image Loader - image pipeline for chapter pages only
+ *
+ * Covers and thumbnails keep Coil's default loader; pages get their own
+ * memory and disk caches, so reading a chapter of large pages no longer
+ * evicts every cover (and scrolling the grids doesn't evict the pages).
+ * Decoding runs on [decodeDispatcher], [DECODE_PARALLELISM] at a time, which
+ * the tiled page renderer shares.
+ *
+ * Hardware bitmaps are used where the pixels are never read back; pages seen
+ * to be greyscale ([isGreyscale]) may decode as RGB_565 - half the memory,
+ * no visible loss without colour.
+ */
+object ReaderImageLoader {
+
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val decodeDispatcher: CoroutineDispatcher = Dispatchers.Default.limitedParallelism(DECODE_PARALLELISM)
+
+    /** Decode pages known to be greyscale as RGB_565 */
+    @Volatile
+    var rgb565ForGreyscale = true
+
+    @Volatile
+    private var loader: ImageLoader? = null
+
+    // Page URL to whether it is greyscale, learned from the prefetch decodes
+    private val greyscale = ConcurrentHashMap<String, Boolean>()
+
+    fun get(context: Context): ImageLoader {
+        return loader ?: synchronized(this) {
+            loader ?: build(context.applicationContext).also { loader = it }
+        }
+    }
+
+    /** True once a decode of [url] showed no colour */
+    fun isGreyscale(url: String): Boolean = rgb565ForGreyscale && greyscale[url] == true
+
+    /** Look at a (small, software) decode of [url] and remember whether it has colour */
+    fun inspect(url: String, drawable: Drawable) {
+        val bitmap = (drawable as? BitmapDrawable)?.bitmap ?: return
+        if (bitmap.config == Bitmap.Config.HARDWARE) return
+        greyscale[url] = isGreyscale(bitmap)
+    }
+
+    private fun build(context: Context): ImageLoader {
+        return ImageLoader.Builder(context)
+            .memoryCache {
+                MemoryCache.Builder(context)
+                    .maxSizePercent(MEMORY_CACHE_PERCENT)
+                    .build()
+            }
+            .diskCache {
+                DiskCache.Builder()
+                    .directory(context.cacheDir.resolve("reader_pages"))
+                    .maxSizeBytes(DISK_CACHE_BYTES)
+                    .build()
+            }
+            .decoderDispatcher(decodeDispatcher)
+            .bitmapFactoryMaxParallelism(DECODE_PARALLELISM)
+            .allowHardware(true)
+            // No loader-wide RGB_565: it would apply to colour pages too - only isGreyscale pages ask for it
+            .build()
+    }
+
+    private fun isGreyscale(bitmap: Bitmap): Boolean {
+        val step = maxOf(1, minOf(bitmap.width, bitmap.height) / GREYSCALE_SAMPLES)
+        for (y in 0 until bitmap.height step step) {
+            for (x in 0 until bitmap.width step step) {
+                val pixel = bitmap.getPixel(x, y)
+                val r = Color.red(pixel)
+                val g = Color.green(pixel)
+                val b = Color.blue(pixel)
+                if (abs(r - g) > GREYSCALE_TOLERANCE || abs(g - b) > GREYSCALE_TOLERANCE || abs(r - b) > GREYSCALE_TOLERANCE) {
+                    return false
+                }
+            }
+        }
+        return true
+    }
+
+    private const val DECODE_PARALLELISM = 2
+    private const val MEMORY_CACHE_PERCENT = 0.15
+    private const val DISK_CACHE_BYTES = 256L * 1024 * 1024
+    private const val GREYSCALE_SAMPLES = 32
+    private const val GREYSCALE_TOLERANCE = 12
+}
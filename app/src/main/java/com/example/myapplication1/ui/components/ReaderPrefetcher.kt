@@ -0,0 +1,216 @@
+package com.example.myapplication1.ui.components
+
+import android.content.Context
+import android.util.Log
+import coil.ImageLoader
+import coil.decode.DataSource
+import coil.request.CachePolicy
+import coil.request.Disposable
+import coil.request.ImageRequest
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.abs
+import kotlin.math.ceil
+
+/**
+ * Reader Prefetcher - keeps the pages ahead of the reader on disk before they scroll in
+ *
+ * Fed with the list's scroll position, it works out direction and speed (pages
+ * per second) and fetches the next N pages that way into Coil's disk cache.
+ * N is how many pages the reader gets through while one page downloads, as
+ * measured on this connection, plus a small margin. Fetches for pages that
+ * fell behind the viewport are cancelled. The small decode of each fetch
+ * tells [ReaderImageLoader] whether the page is greyscale.
+ *
+ * Also counts pages that were on screen before their image was ([BlankPageCounter]).
+ * Main thread only.
+ */
+class ReaderPrefetcher(
+    private val context: Context,
+    private val imageLoader: ImageLoader,
+    private val pageCount: Int,
+    /** URL of a page - asked at fetch time, so it follows the current quality */
+    private val urlOf: (index: Int) -> String,
+    /** A page came off the network (not a cache) in this many ms */
+    private val onNetworkFetch: (url: String, millis: Long) -> Unit = { _, _ -> },
+    private val minAhead: Int = 2,
+    private val maxAhead: Int = 10,
+    private val maxInFlight: Int = 4
+) {
+
+    private val inFlight = HashMap<Int, Disposable>()
+    private val prefetched = HashSet<Int>()
+    private val loaded = HashSet<Int>()
+    private val blankPages = BlankPageCounter(pageCount)
+
+    // Network time per page (EWMA) - starts pessimistic, corrected by the first downloads
+    private var fetchMillis = INITIAL_FETCH_MILLIS
+
+    private var lastPosition = Float.NaN
+    private var lastTime = 0L
+    private var velocity = 0f // Pages per second, + forward / - back (smoothed)
+    private var forward = true
+
+    /**
+     * @param position Fractional page index at the top of the viewport
+     * @param first First visible page
+     * @param last Last visible page
+     */
+    fun onScroll(position: Float, first: Int, last: Int, nowMillis: Long) {
+        if (!lastPosition.isNaN() && nowMillis > lastTime) {
+            val instant = (position - lastPosition) * 1000f / (nowMillis - lastTime)
+            velocity = velocity * (1 - VELOCITY_SMOOTHING) + instant * VELOCITY_SMOOTHING
+            if (abs(position - lastPosition) > 0.01f) forward = position > lastPosition
+        }
+        lastPosition = position
+        lastTime = nowMillis
+
+        blankPages.onVisible(first, last)
+
+        val ahead = pagesAhead()
+        val wanted = if (forward) {
+            (last + 1..minOf(last + ahead, pageCount - 1)).toList()
+        } else {
+            (first - 1 downTo maxOf(first - ahead, 0)).toList()
+        }
+
+        // Behind the viewport or out of the window - not worth the bandwidth any more
+        inFlight.keys.filter { it !in wanted && (it < first || it > last) }.forEach { index ->
+            inFlight.remove(index)?.dispose()
+        }
+
+        for (index in wanted) {
+            if (inFlight.size >= maxInFlight) break
+            if (index in prefetched || index in loaded || index in inFlight) continue
+            inFlight[index] = imageLoader.enqueue(prefetchRequest(index))
+        }
+    }
+
+    /**
+     * Fetch the first pages of the next chapter. Not cancelled by [close] -
+     * they are for the reader that opens next.
+     */
+    fun warmUp(urls: List<String>) {
+        urls.forEach { url ->
+            val request = diskOnlyRequest(url)
+                .listener(onSuccess = { _, result -> ReaderImageLoader.inspect(url, result.drawable) })
+                .build()
+            imageLoader.enqueue(request)
+        }
+    }
+
+    /** The page's image is on screen */
+    fun onPageLoaded(index: Int) {
+        loaded += index
+        blankPages.onLoaded(index)
+    }
+
+    /** Reader closed: cancel outstanding fetches and report the chapter */
+    fun close() {
+        inFlight.values.forEach { it.dispose() }
+        inFlight.clear()
+        Log.i(TAG, "Chapter: ${blankPages.seenCount}/$pageCount pages seen, ahead=${pagesAhead()} " +
+            "fetch=${fetchMillis}ms | $ReaderMetrics")
+    }
+
+    private fun pagesAhead(): Int {
+        val speed = abs(velocity)
+        val needed = ceil(speed * fetchMillis / 1000f).toInt()
+        return (minAhead + needed).coerceIn(minAhead, maxAhead)
+    }
+
+    private fun diskOnlyRequest(url: String): ImageRequest.Builder {
+        return ImageRequest.Builder(context)
+            .data(url)
+            // Only the bytes matter - the page decodes at full size when it scrolls in
+            .memoryCachePolicy(CachePolicy.DISABLED)
+            .diskCachePolicy(CachePolicy.ENABLED)
+            .size(PREFETCH_DECODE_SIZE_PX)
+            // Software, so the small decode can be checked for colour
+            .allowHardware(false)
+    }
+
+    private fun prefetchRequest(index: Int): ImageRequest {
+        val started = System.currentTimeMillis()
+        val url = urlOf(index)
+        return diskOnlyRequest(url)
+            .listener(
+                onSuccess = { _, result ->
+                    inFlight.remove(index)
+                    prefetched += index
+                    blankPages.onPrefetched(index)
+                    ReaderImageLoader.inspect(url, result.drawable)
+                    if (result.dataSource == DataSource.NETWORK) {
+                        val elapsed = System.currentTimeMillis() - started
+                        fetchMillis = (fetchMillis * (1 - FETCH_SMOOTHING) + elapsed * FETCH_SMOOTHING).toLong()
+                        onNetworkFetch(url, elapsed)
+                    }
+                },
+                onError = { _, _ -> inFlight.remove(index) },
+                onCancel = { inFlight.remove(index) }
+            )
+            .build()
+    }
+
+    companion object {
+        private const val TAG = "ReaderPrefetch"
+        private const val INITIAL_FETCH_MILLIS = 1_500L
+        private const val FETCH_SMOOTHING = 0.3
+        private const val VELOCITY_SMOOTHING = 0.4f
+        private const val PREFETCH_DECODE_SIZE_PX = 64
+    }
+}
+
+/**
+ * Reader Metrics - how often a page scrolled in before its image did
+ */
+object ReaderMetrics {
+    val pagesShown = AtomicLong()
+    val blankPagesSeen = AtomicLong()
+
+    override fun toString(): String {
+        val shown = pagesShown.get()
+        val blank = blankPagesSeen.get()
+        val rate = if (shown == 0L) 0.0 else blank * 100.0 / shown
+        return "blank pages seen=$blank/$shown (${"%.1f".format(rate)}%)"
+    }
+}
+
+/**
+ * Blank Page Counter - counts pages that scrolled in with nothing to show yet
+ *
+ * A page is ready once it is prefetched to disk or its image is on screen; the
+ * decode after it composes takes a frame or two either way, so a prefetched
+ * page is not a miss. Each page counts once, when it first becomes visible.
+ * Counting starts with the first loaded page - waiting for that is the
+ * chapter load, not a prefetch miss.
+ */
+class BlankPageCounter(
+    private val pageCount: Int,
+    private val shown: AtomicLong = ReaderMetrics.pagesShown,
+    private val blank: AtomicLong = ReaderMetrics.blankPagesSeen
+) {
+    private val ready = HashSet<Int>()
+    private val seen = HashSet<Int>()
+    private var started = false
+
+    /** Pages that have been on screen */
+    val seenCount: Int get() = seen.size
+
+    fun onPrefetched(index: Int) {
+        ready += index
+    }
+
+    fun onLoaded(index: Int) {
+        ready += index
+        started = true
+    }
+
+    fun onVisible(first: Int, last: Int) {
+        if (!started) return
+        for (index in first..last) {
+            if (index < 0 || index >= pageCount || !seen.add(index)) continue
+            shown.incrementAndGet()
+            if (index !in ready) blank.incrementAndGet()
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.myapplication1.ui.components
+
+import android.app.ActivityManager
+import android.content.Context
+import android.net.ConnectivityManager
+import android.net.NetworkCapabilities
+import android.os.SystemClock
+import com.example.myapplication1.data.model.MangaDexChapterPages
+
+/**
+ * How a reader page is loaded
+ */
+enum class PageQuality {
+    /** Original `data/` image */
+    FULL,
+
+    /** Compressed `data-saver/` image only */
+    DATA_SAVER,
+
+    /** `data-saver/` first, swapped for the original once the page sits on screen */
+    DATA_SAVER_THEN_FULL
+}
+
+/**
+ * Reader Quality Policy - picks page quality from the network and the device
+ *
+ * - Low-RAM devices (or a small heap) read data-saver: original pages decode
+ *   to bitmaps of tens of MB
+ * - Metered networks read data-saver, several times fewer bytes per chapter
+ *   ([upgradeOnMetered] to still swap in the originals)
+ * - Slow unmetered links (reported link bandwidth, or measured page download
+ *   time) show data-saver first and upgrade in place
+ * - Otherwise originals
+ *
+ * The decision is re-evaluated at most every few seconds, so a network change
+ * affects the pages still to come.
+ */
+class ReaderQualityPolicy(
+    context: Context,
+    private val upgradeOnMetered: Boolean = false
+) {
+
+    private val connectivity = context.getSystemService(ConnectivityManager::class.java)
+    private val lowMemory = context.getSystemService(ActivityManager::class.java).let {
+        it.isLowRamDevice || it.memoryClass < LOW_MEMORY_CLASS_MB
+    }
+
+    // Download time of an original page (EWMA), 0 until one was measured
+    private var fullPageMillis = 0L
+
+    private var decided: PageQuality = PageQuality.FULL
+    private var decidedAt = Long.MIN_VALUE
+
+    fun quality(): PageQuality {
+        val now = SystemClock.elapsedRealtime()
+        if (decidedAt == Long.MIN_VALUE || now - decidedAt > DECISION_TTL_MILLIS) {
+            decided = decide()
+            decidedAt = now
+        }
+        return decided
+    }
+
+    /** An original page took [millis] to come off the network */
+    fun onFullPageFetched(millis: Long) {
+        fullPageMillis = if (fullPageMillis == 0L) millis else (fullPageMillis * 7 + millis * 3) / 10
+    }
+
+    private fun decide(): PageQuality {
+        if (lowMemory) return PageQuality.DATA_SAVER
+        val capabilities = connectivity?.getNetworkCapabilities(connectivity.activeNetwork)
+        val metered = connectivity?.isActiveNetworkMetered ?: false
+        val linkKbps = capabilities?.linkDownstreamBandwidthKbps ?: Int.MAX_VALUE
+        val slow = linkKbps < SLOW_LINK_KBPS || fullPageMillis > SLOW_PAGE_MILLIS
+        return when {
+            metered -> if (upgradeOnMetered) PageQuality.DATA_SAVER_THEN_FULL else PageQuality.DATA_SAVER
+            slow || capabilities?.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR) == true -> PageQuality.DATA_SAVER_THEN_FULL
+            else -> PageQuality.FULL
+        }
+    }
+
+    companion object {
+        private const val DECISION_TTL_MILLIS = 5_000L
+        private const val LOW_MEMORY_CLASS_MB = 128
+        private const val SLOW_LINK_KBPS = 2_000
+        private const val SLOW_PAGE_MILLIS = 2_500L
+
+        /**
+         * At-home URL of a page; the original when data-saver is not wanted
+         * or the chapter has no data-saver file for it
+         */
+        fun pageUrl(pages: MangaDexChapterPages, index: Int, dataSaver: Boolean): String {
+            val saverFile = pages.chapter.dataSaver?.takeIf { it.size == pages.chapter.data.size }?.get(index)
+            return if (dataSaver && saverFile != null) {
+                "${pages.baseUrl}/data-saver/${pages.chapter.hash}/$saverFile"
+            } else {
+                "${pages.baseUrl}/data/${pages.chapter.hash}/${pages.chapter.data[index]}"
+            }
+        }
+
+        fun isFullQuality(url: String): Boolean = "/data/" in url
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.myapplication1.ui.components
+
+import android.content.res.Resources
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import android.graphics.BitmapRegionDecoder
+import android.graphics.Rect
+import android.os.Build
+import android.util.Log
+import android.util.LruCache
+import androidx.compose.foundation.Canvas
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableStateMapOf
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.setValue
+import androidx.compose.runtime.snapshotFlow
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.graphics.ImageBitmap
+import androidx.compose.ui.graphics.asImageBitmap
+import androidx.compose.ui.layout.boundsInWindow
+import androidx.compose.ui.layout.onGloballyPositioned
+import androidx.compose.ui.layout.positionInWindow
+import androidx.compose.ui.unit.IntOffset
+import androidx.compose.ui.unit.IntSize
+import coil.ImageLoader
+import coil.annotation.ExperimentalCoilApi
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.withContext
+import java.io.IOException
+import kotlin.math.roundToInt
+
+/**
+ * Tiled Page Image - draws a very tall page from its file, a strip at a time
+ *
+ * Only the rows of tiles in (or next to) the viewport are decoded, sampled
+ * down to the width the page is drawn at, so memory follows the screen size
+ * rather than the image size. Decoded tiles are kept in [PageTileCache].
+ *
+ * Meant to be laid over the page's regular (downsampled) image, which shows
+ * until the tiles arrive. The caller owns [decoder] and recycles it.
+ */
+@Composable
+fun TiledPageImage(
+    decoder: BitmapRegionDecoder,
+    cacheKey: String,
+    modifier: Modifier = Modifier
+) {
+    val imageWidth = decoder.width
+    val imageHeight = decoder.height
+    var canvasSize by remember { mutableStateOf(IntSize.Zero) }
+    // Part of the canvas inside the window, in canvas pixels
+    var visibleTop by remember { mutableStateOf(0f) }
+    var visibleBottom by remember { mutableStateOf(0f) }
+    val tiles = remember(decoder) { mutableStateMapOf<Int, PageTile>() }
+
+    val sampleSize = sampleSizeFor(imageWidth, canvasSize.width)
+    val tileHeight = TILE_HEIGHT_PX * sampleSize // In image pixels
+
+    LaunchedEffect(decoder, sampleSize, canvasSize.height) {
+        if (canvasSize.height == 0) return@LaunchedEffect
+        val imagePerCanvasPx = imageHeight.toFloat() / canvasSize.height
+        val lastRow = (imageHeight - 1) / tileHeight
+        // Rows decoded at another sample size have another height - they go
+        tiles.filterValues { it.sampleSize != sampleSize }.keys.forEach { row ->
+            tiles.remove(row)?.let { PageTileCache.release(it.bitmap) }
+        }
+        snapshotFlow {
+            val first = (visibleTop * imagePerCanvasPx / tileHeight).toInt() - 1
+            val last = (visibleBottom * imagePerCanvasPx / tileHeight).toInt() + 1
+            first.coerceIn(0, lastRow)..last.coerceIn(0, lastRow)
+        }
+            .distinctUntilChanged()
+            .collectLatest { rows ->
+                // Off-screen rows leave the page (the cache may still have them)
+                tiles.keys.filter { it !in rows }.forEach { row ->
+                    tiles.remove(row)?.let { PageTileCache.release(it.bitmap) }
+                }
+                for (row in rows) {
+                    if (row in tiles) continue
+                    val key = "$cacheKey#$sampleSize#$row"
+                    val bitmap = PageTileCache.acquire(key) ?: withContext(ReaderImageLoader.decodeDispatcher) {
+                        decodeRow(decoder, row, tileHeight, sampleSize)
+                    }?.also {
+                        // Held before it is shared, so no eviction can pool it under us
+                        PageTileCache.acquire(it)
+                        PageTileCache.put(key, it)
+                    } ?: continue
+                    tiles[row] = PageTile(bitmap, sampleSize)
+                }
+            }
+    }
+    DisposableEffect(decoder) {
+        onDispose {
+            tiles.values.forEach { PageTileCache.release(it.bitmap) }
+            tiles.clear()
+        }
+    }
+
+    Canvas(
+        modifier = modifier.onGloballyPositioned { coordinates ->
+            canvasSize = coordinates.size
+            val top = coordinates.positionInWindow().y
+            val bounds = coordinates.boundsInWindow()
+            visibleTop = bounds.top - top
+            visibleBottom = bounds.bottom - top
+        }
+    ) {
+        val scaleY = size.height / imageHeight
+        val width = size.width.roundToInt()
+        tiles.forEach { (row, tile) ->
+            if (tile.sampleSize != sampleSize) return@forEach
+            val top = (row * tileHeight * scaleY).roundToInt()
+            val bottom = (minOf((row + 1) * tileHeight, imageHeight) * scaleY).roundToInt()
+            drawImage(
+                image = tile.image,
+                dstOffset = IntOffset(0, top),
+                dstSize = IntSize(width, bottom - top)
+            )
+        }
+    }
+}
+
+/**
+ * Region decoder over the file Coil cached for [url], or null if it is not on disk
+ */
+@OptIn(ExperimentalCoilApi::class)
+suspend fun openRegionDecoder(imageLoader: ImageLoader, url: String): BitmapRegionDecoder? {
+    return withContext(Dispatchers.IO) {
+        try {
+            // The decoder keeps its own handle on the file, so the snapshot may close after
+            imageLoader.diskCache?.openSnapshot(url)?.use { snapshot ->
+                val path = snapshot.data.toFile().path
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+                    BitmapRegionDecoder.newInstance(path)
+                } else {
+                    @Suppress("DEPRECATION")
+                    BitmapRegionDecoder.newInstance(path, false)
+                }
+            }
+        } catch (e: IOException) {
+            Log.w(TAG, "Cannot open $url for tiling: ${e.message}")
+            null
+        }
+    }
+}
+
+/** True for pages too tall to decode whole at screen width (taller than the screen's shape) */
+fun isTallPage(width: Float, height: Float): Boolean {
+    val metrics = Resources.getSystem().displayMetrics
+    val screenRatio = maxOf(metrics.heightPixels, metrics.widthPixels).toFloat() /
+        minOf(metrics.heightPixels, metrics.widthPixels)
+    return width > 0 && height / width > screenRatio
+}
+
+/** Largest power of two that keeps the decoded width at or above the drawn width */
+private fun sampleSizeFor(imageWidth: Int, drawnWidth: Int): Int {
+    if (drawnWidth <= 0) return 1
+    var sample = 1
+    while (imageWidth / (sample * 2) >= drawnWidth) sample *= 2
+    return sample
+}
+
+/** A decoded row on screen - its bitmap is held, so the tile cache never recycles it mid-draw */
+private class PageTile(val bitmap: Bitmap, val sampleSize: Int) {
+    val image: ImageBitmap = bitmap.asImageBitmap()
+}
+
+private fun decodeRow(decoder: BitmapRegionDecoder, row: Int, tileHeight: Int, sampleSize: Int): Bitmap? {
+    val top = row * tileHeight
+    val region = Rect(0, top, decoder.width, minOf(top + tileHeight, decoder.height))
+    // Output size as the decoder rounds it
+    val width = maxOf(1, region.width() / sampleSize)
+    val height = maxOf(1, region.height() / sampleSize)
+    val options = BitmapFactory.Options().apply {
+        inSampleSize = sampleSize
+        inMutable = true
+        // Software and mutable - tiles are reused, which hardware bitmaps can't be
+        inPreferredConfig = Bitmap.Config.ARGB_8888
+        inBitmap = PageTileCache.reusable(width, height)
+    }
+    return try {
+        decoder.decodeRegion(region, options)
+    } catch (e: IllegalStateException) {
+        null // Recycled - the page left the screen while this row was queued
+    } catch (e: IllegalArgumentException) {
+        Log.w(TAG, "Bad region $region: ${e.message}")
+        null
+    }
+}
+
+/**
+ * Page Tile Cache - decoded tiles shared by every tiled page, bounded by bytes
+ * (about two screens' worth), plus a pool of evicted tiles to decode into
+ *
+ * Tiles are the same size row after row, so most decodes can reuse an evicted
+ * bitmap instead of allocating. A tile still drawn somewhere (held through
+ * [acquire]) is pooled only once its last holder [release]s it.
+ */
+object PageTileCache {
+    private val lock = Any()
+    private val held = HashMap<Bitmap, Int>()
+    private val cached = HashSet<Bitmap>()
+    private val pool = ArrayDeque<Bitmap>()
+    private var poolBytes = 0
+    private val maxPoolBytes = maxBytes() / 2
+
+    private val cache = object : LruCache<String, Bitmap>(maxBytes()) {
+        override fun sizeOf(key: String, value: Bitmap): Int = value.allocationByteCount
+
+        override fun entryRemoved(evicted: Boolean, key: String, oldValue: Bitmap, newValue: Bitmap?) {
+            synchronized(lock) {
+                cached -= oldValue
+                if (oldValue !in held) recycle(oldValue)
+            }
+        }
+    }
+
+    /** The cached tile for [key], held by the caller until [release] - or null */
+    fun acquire(key: String): Bitmap? = synchronized(lock) {
+        // Looked up and held in one step, so an eviction in between can't pool it
+        val bitmap = cache.get(key) ?: return@synchronized null
+        held[bitmap] = (held[bitmap] ?: 0) + 1
+        bitmap
+    }
+
+    fun put(key: String, bitmap: Bitmap) {
+        synchronized(lock) { cached += bitmap }
+        cache.put(key, bitmap)
+    }
+
+    fun acquire(bitmap: Bitmap) = synchronized(lock) {
+        held[bitmap] = (held[bitmap] ?: 0) + 1
+    }
+
+    fun release(bitmap: Bitmap) = synchronized(lock) {
+        val count = (held[bitmap] ?: return@synchronized) - 1
+        if (count > 0) {
+            held[bitmap] = count
+        } else {
+            held -= bitmap
+            if (bitmap !in cached) recycle(bitmap)
+        }
+    }
+
+    /** A pooled bitmap of exactly this size (region decodes draw into it as-is), or null */
+    fun reusable(width: Int, height: Int): Bitmap? = synchronized(lock) {
+        val match = pool.firstOrNull { it.width == width && it.height == height } ?: return@synchronized null
+        pool.remove(match)
+        poolBytes -= match.allocationByteCount
+        match
+    }
+
+    override fun toString(): String = "tiles=${cache.size() / 1024}KB/${cache.maxSize() / 1024}KB " +
+        "hits=${cache.hitCount()} misses=${cache.missCount()} pool=${poolBytes / 1024}KB"
+
+    private fun recycle(bitmap: Bitmap) {
+        if (!bitmap.isMutable || bitmap.isRecycled) return
+        pool.addLast(bitmap)
+        poolBytes += bitmap.allocationByteCount
+        while (poolBytes > maxPoolBytes) {
+            poolBytes -= pool.removeFirst().allocationByteCount
+        }
+    }
+
+    private fun maxBytes(): Int {
+        val metrics = Resources.getSystem().displayMetrics
+        return metrics.widthPixels * metrics.heightPixels * 4 * 2
+    }
+}
+
+private const val TAG = "TiledPageImage"
+private const val TILE_HEIGHT_PX = 512
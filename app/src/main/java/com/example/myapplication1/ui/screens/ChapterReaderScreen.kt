@@ -24,6 +24,7 @@ import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.unit.dp
 import coil.compose.AsyncImage
+import coil.memory.MemoryCache
 import coil.request.ImageRequest
 import com.example.myapplication1.data.model.MangaDexChapterPages
 import com.example.myapplication1.sensors.MotionSensorManager
@@ -36,8 +37,10 @@ import com.example.myapplication1.ui.components.DebugLogManager
 import com.example.myapplication1.ui.components.DebugLevel
 import com.example.myapplication1.ui.theme.*
 import com.example.myapplication1.ui.viewmodel.MangaViewModel
+import com.example.myapplication1.ui.viewmodel.NextChapter
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.launch
 import androidx.compose.runtime.rememberCoroutineScope
 import com.example.myapplication1.sensors.LidarSensorManager
@@ -58,6 +61,9 @@ import android.provider.Settings
 import android.os.Build
 import android.content.pm.PackageManager
 import android.widget.Toast
+import android.os.SystemClock
+import android.graphics.Bitmap
+import android.graphics.BitmapRegionDecoder
 
 @OptIn(ExperimentalMaterial3Api::class)
 @Composable
@@ -66,17 +72,19 @@ fun ChapterReaderScreen(
     chapterTitle: String,
     viewModel: MangaViewModel,
     onBackClick: () -> Unit,
+    onNextChapter: (chapterId: String, chapterTitle: String) -> Unit = { _, _ -> },
     modifier: Modifier = Modifier
 ) {
     val chapterPagesState by viewModel.chapterPagesState.collectAsState()
+    val nextChapter by viewModel.nextChapter.collectAsState()
     
     LaunchedEffect(chapterId) {
         viewModel.loadChapterPages(chapterId)
     }
     
-    DisposableEffect(Unit) {
+    DisposableEffect(chapterId) {
         onDispose {
-            viewModel.clearChapterPages()
+            viewModel.clearChapterPages(chapterId)
         }
     }
     
@@ -100,11 +108,14 @@ fun ChapterReaderScreen(
                 )
             }
             
-            chapterPagesState.pages != null -> {
+            chapterPagesState.pages != null && chapterPagesState.chapterId == chapterId -> {
                 ChapterReaderContent(
                     pages = chapterPagesState.pages!!,
                     chapterTitle = chapterTitle,
-                    onBackClick = onBackClick
+                    onBackClick = onBackClick,
+                    nextChapter = nextChapter?.takeIf { it.previousId == chapterId },
+                    onNearEnd = { viewModel.warmUpNextChapter(chapterId) },
+                    onNextChapter = onNextChapter
                 )
             }
         }
@@ -116,11 +127,12 @@ fun ChapterReaderScreen(
 private fun ChapterReaderContent(
     pages: MangaDexChapterPages,
     chapterTitle: String,
-    onBackClick: () -> Unit
+    onBackClick: () -> Unit,
+    nextChapter: NextChapter?,
+    onNearEnd: () -> Unit,
+    onNextChapter: (chapterId: String, chapterTitle: String) -> Unit
 ) {
     val context = LocalContext.current
-    val baseUrl = pages.baseUrl
-    val hash = pages.chapter.hash
     val pageUrls = pages.chapter.data
     
     // Motion sensor state
@@ -431,6 +443,63 @@ private fun ChapterReaderContent(
             }
     }
     
+    // Prefetch pages ahead of the reader, in the direction and at the pace they scroll
+    val qualityPolicy = remember { ReaderQualityPolicy(context) }
+    val prefetcher = remember(pages) {
+        ReaderPrefetcher(
+            context = context,
+            imageLoader = ReaderImageLoader.get(context),
+            pageCount = pageUrls.size,
+            urlOf = { index ->
+                ReaderQualityPolicy.pageUrl(pages, index, dataSaver = qualityPolicy.quality() != PageQuality.FULL)
+            },
+            onNetworkFetch = { url, millis ->
+                if (ReaderQualityPolicy.isFullQuality(url)) qualityPolicy.onFullPageFetched(millis)
+            }
+        )
+    }
+    DisposableEffect(prefetcher) {
+        onDispose { prefetcher.close() }
+    }
+    LaunchedEffect(listState, prefetcher) {
+        snapshotFlow {
+            val visible = listState.layoutInfo.visibleItemsInfo
+            val top = visible.firstOrNull()
+            val position = if (top == null) 0f else top.index - top.offset.toFloat() / top.size.coerceAtLeast(1)
+            Triple(position, top?.index ?: 0, visible.lastOrNull()?.index ?: 0)
+        }
+            .distinctUntilChanged()
+            .collect { (position, first, last) ->
+                prefetcher.onScroll(position, first, last, SystemClock.uptimeMillis())
+            }
+    }
+    
+    // Past ~80% of the chapter: get the next one ready so opening it is a cache hit
+    LaunchedEffect(listState, pageUrls.size) {
+        snapshotFlow { listState.layoutInfo.visibleItemsInfo.lastOrNull()?.index ?: 0 }
+            .first { last -> last + 1 >= pageUrls.size * NEXT_CHAPTER_WARM_UP_AT }
+        onNearEnd()
+    }
+    LaunchedEffect(nextChapter?.pages) {
+        val next = nextChapter?.pages ?: return@LaunchedEffect
+        val dataSaver = qualityPolicy.quality() != PageQuality.FULL
+        prefetcher.warmUp(
+            (0 until minOf(NEXT_CHAPTER_WARM_UP_PAGES, next.chapter.data.size)).map {
+                ReaderQualityPolicy.pageUrl(next, it, dataSaver)
+            }
+        )
+    }
+    
+    // Scrolling has stopped for a moment - data-saver pages on screen may upgrade
+    var pagesSettled by remember { mutableStateOf(false) }
+    LaunchedEffect(listState.isScrollInProgress) {
+        pagesSettled = false
+        if (!listState.isScrollInProgress) {
+            delay(UPGRADE_SETTLE_MILLIS)
+            pagesSettled = true
+        }
+    }
+    
     // Show Toast notification when user is too close to screen
     var lastToastTime by remember { mutableStateOf(0L) }
     val TOAST_COOLDOWN_MS = 3000L // 3 seconds between toasts
@@ -1149,8 +1218,14 @@ private fun ChapterReaderContent(
                 items = pageUrls,
                     key = { _, page -> page }
                 ) { index, page ->
+                val quality = remember(page) { qualityPolicy.quality() }
                 ChapterPageImage(
-                    imageUrl = "$baseUrl/data/$hash/$page",
+                    imageUrl = ReaderQualityPolicy.pageUrl(pages, index, dataSaver = quality != PageQuality.FULL),
+                    upgradeUrl = if (quality == PageQuality.DATA_SAVER_THEN_FULL) {
+                        ReaderQualityPolicy.pageUrl(pages, index, dataSaver = false)
+                    } else null,
+                    settled = pagesSettled,
+                    onLoaded = { prefetcher.onPageLoaded(index) },
                         modifier = Modifier
                             .fillMaxWidth()
                             .pointerInput(index, pageUrls.size, coroutineScope) {
@@ -1191,6 +1266,24 @@ private fun ChapterReaderContent(
                             }
                     )
                 }
+                
+                // End of chapter - straight on to the next one
+                if (nextChapter != null) {
+                    item(key = "next-chapter") {
+                        Button(
+                            onClick = { onNextChapter(nextChapter.id, nextChapter.title) },
+                            modifier = Modifier
+                                .fillMaxWidth()
+                                .padding(16.dp)
+                        ) {
+                            Text(
+                                text = "Next: ${nextChapter.title}",
+                                maxLines = 1,
+                                overflow = TextOverflow.Ellipsis
+                            )
+                        }
+                    }
+                }
             }
         } else {
             // Fallback if no pages
@@ -1231,15 +1324,62 @@ private fun SensorInfoRow(label: String, value: String) {
 @Composable
 private fun ChapterPageImage(
     imageUrl: String,
-    modifier: Modifier = Modifier
+    onLoaded: () -> Unit,
+    modifier: Modifier = Modifier,
+    upgradeUrl: String? = null,
+    settled: Boolean = false
 ) {
-    AsyncImage(
-        model = ImageRequest.Builder(LocalContext.current)
-            .data(imageUrl)
-            .crossfade(true)
-            .build(),
-        contentDescription = null,
-        modifier = modifier,
-        contentScale = ContentScale.Fit
-    )
+    // Memory cache key of the first image shown - placeholder while the upgrade loads, so nothing flashes
+    var shownKey by remember(imageUrl) { mutableStateOf<MemoryCache.Key?>(null) }
+    var upgraded by remember(imageUrl) { mutableStateOf(false) }
+    LaunchedEffect(upgradeUrl, settled, shownKey) {
+        if (upgradeUrl != null && settled && shownKey != null) upgraded = true
+    }
+    
+    val context = LocalContext.current
+    val displayedUrl = upgradeUrl?.takeIf { upgraded } ?: imageUrl
+    // Set once a page turns out too tall to decode whole - then drawn in tiles over the downsampled image
+    var tiledDecoder by remember(displayedUrl) { mutableStateOf<BitmapRegionDecoder?>(null) }
+    var isTall by remember(displayedUrl) { mutableStateOf(false) }
+    LaunchedEffect(displayedUrl, isTall) {
+        if (isTall) tiledDecoder = openRegionDecoder(ReaderImageLoader.get(context), displayedUrl)
+    }
+    DisposableEffect(tiledDecoder) {
+        val decoder = tiledDecoder
+        onDispose { decoder?.recycle() }
+    }
+    
+    Box(modifier = modifier) {
+        AsyncImage(
+            model = ImageRequest.Builder(context)
+                .data(displayedUrl)
+                .placeholderMemoryCacheKey(if (upgraded) shownKey else null)
+                .crossfade(!upgraded)
+                // Never more than a screen's worth of pixels - a long strip comes out blurry, and tiles take over
+                .size(context.resources.displayMetrics.widthPixels, context.resources.displayMetrics.heightPixels)
+                .apply { if (ReaderImageLoader.isGreyscale(displayedUrl)) bitmapConfig(Bitmap.Config.RGB_565) }
+                .build(),
+            imageLoader = ReaderImageLoader.get(context),
+            contentDescription = null,
+            modifier = Modifier.fillMaxWidth(),
+            contentScale = ContentScale.Fit,
+            onSuccess = { success ->
+                if (!upgraded) shownKey = success.result.memoryCacheKey
+                val size = success.painter.intrinsicSize
+                isTall = isTallPage(size.width, size.height)
+                onLoaded()
+            }
+        )
+        tiledDecoder?.let { decoder ->
+            TiledPageImage(
+                decoder = decoder,
+                cacheKey = displayedUrl,
+                modifier = Modifier.matchParentSize()
+            )
+        }
+    }
 }
+
+private const val NEXT_CHAPTER_WARM_UP_AT = 0.8f
+private const val NEXT_CHAPTER_WARM_UP_PAGES = 3
+private const val UPGRADE_SETTLE_MILLIS = 600L
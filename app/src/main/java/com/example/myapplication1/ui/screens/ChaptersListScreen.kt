@@ -31,6 +31,7 @@ fun ChaptersListScreen(
     modifier: Modifier = Modifier
 ) {
     val chaptersState by viewModel.mangadexChaptersState.collectAsState()
+    val chaptersError by viewModel.mangadexChaptersError.collectAsState()
     
     LaunchedEffect(mangaDexId) {
         viewModel.loadMangaDexChapters(mangaDexId)
@@ -86,6 +87,19 @@ fun ChaptersListScreen(
             
             // Chapters list
             when {
+                chaptersState.first.isEmpty() && chaptersError != null -> {
+                    Box(
+                        modifier = Modifier
+                            .fillMaxSize()
+                            .weight(1f),
+                        contentAlignment = Alignment.Center
+                    ) {
+                        MangaErrorMessage(
+                            message = chaptersError ?: "",
+                            onRetry = { viewModel.loadMangaDexChapters(mangaDexId) }
+                        )
+                    }
+                }
                 chaptersState.first.isEmpty() -> {
                     Box(
                         modifier = Modifier
@@ -106,6 +120,15 @@ fun ChaptersListScreen(
                         contentPadding = PaddingValues(horizontal = 16.dp, vertical = 8.dp),
                         verticalArrangement = Arrangement.spacedBy(8.dp)
                     ) {
+                        // Some feed pages failed - the list below has gaps
+                        chaptersError?.let { error ->
+                            item(key = "chapters_incomplete") {
+                                IncompleteChaptersBanner(
+                                    message = error,
+                                    onRetry = { viewModel.loadMangaDexChapters(mangaDexId) }
+                                )
+                            }
+                        }
                         items(
                             items = chaptersState.first.reversed(), // Show latest first
                             key = { it.id }
@@ -126,6 +149,50 @@ fun ChaptersListScreen(
     }
 }
 
+@Composable
+private fun IncompleteChaptersBanner(
+    message: String,
+    onRetry: () -> Unit
+) {
+    Card(
+        modifier = Modifier.fillMaxWidth(),
+        shape = RoundedCornerShape(12.dp),
+        colors = CardDefaults.cardColors(containerColor = InkBlackCard)
+    ) {
+        Row(
+            modifier = Modifier
+                .fillMaxWidth()
+                .padding(16.dp),
+            horizontalArrangement = Arrangement.SpaceBetween,
+            verticalAlignment = Alignment.CenterVertically
+        ) {
+            Column(
+                modifier = Modifier.weight(1f)
+            ) {
+                Text(
+                    text = "Some chapters could not be loaded",
+                    style = MaterialTheme.typography.titleSmall,
+                    color = TextPrimary,
+                    fontWeight = FontWeight.SemiBold
+                )
+                Text(
+                    text = message,
+                    style = MaterialTheme.typography.bodySmall,
+                    color = TextMuted
+                )
+            }
+            
+            TextButton(onClick = onRetry) {
+                Text(
+                    text = "Retry",
+                    color = CrimsonPrimary,
+                    fontWeight = FontWeight.Bold
+                )
+            }
+        }
+    }
+}
+
 @Composable
 private fun ChapterListItem(
     chapter: MangaDexChapter,
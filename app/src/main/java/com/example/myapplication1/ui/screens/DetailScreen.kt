@@ -314,7 +314,7 @@ private fun MangaDetailContent(
             Button(
                 onClick = {
                     isSearchingMangaDex = true
-                    viewModel.searchMangaDexForReading(manga.getDisplayTitle()) { foundId ->
+                    viewModel.searchMangaDexForReading(manga.malId, manga.getDisplayTitle()) { foundId ->
                         isSearchingMangaDex = false
                         if (foundId != null) {
                             mangaDexId = foundId
@@ -11,6 +11,7 @@ import androidx.compose.foundation.lazy.LazyRow
 import androidx.compose.foundation.lazy.grid.GridCells
 import androidx.compose.foundation.lazy.grid.LazyVerticalGrid
 import androidx.compose.foundation.lazy.grid.items
+import androidx.compose.foundation.lazy.grid.rememberLazyGridState
 import androidx.compose.foundation.lazy.items
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
@@ -36,6 +37,7 @@ fun ExploreScreen(
     modifier: Modifier = Modifier
 ) {
     val genreState by viewModel.genreState.collectAsState()
+    val genreMangaState by viewModel.genreMangaState.collectAsState()
     
     Column(
         modifier = modifier
@@ -114,6 +116,7 @@ fun ExploreScreen(
                 GenreMangaGrid(
                     viewModel = viewModel,
                     genreState = genreState,
+                    mangaState = genreMangaState,
                     onMangaClick = onMangaClick
                 )
             }
@@ -214,10 +217,11 @@ private fun GenreCard(
 private fun GenreMangaGrid(
     viewModel: MangaViewModel,
     genreState: com.example.myapplication1.ui.viewmodel.GenreState,
+    mangaState: com.example.myapplication1.ui.viewmodel.MangaListState,
     onMangaClick: (Int) -> Unit
 ) {
     when {
-        genreState.isLoading -> {
+        mangaState.isLoading && mangaState.items.isEmpty() -> {
             Box(
                 modifier = Modifier.fillMaxSize(),
                 contentAlignment = Alignment.Center
@@ -226,16 +230,16 @@ private fun GenreMangaGrid(
             }
         }
         
-        genreState.error != null -> {
+        mangaState.error != null && mangaState.items.isEmpty() -> {
             MangaErrorMessage(
-                message = genreState.error!!,
+                message = mangaState.error!!,
                 onRetry = { 
                     genreState.selectedGenre?.let { viewModel.selectGenre(it) }
                 }
             )
         }
         
-        genreState.genreManga.isEmpty() -> {
+        mangaState.items.isEmpty() -> {
             EmptyState(
                 emoji = "📭",
                 title = "No manga found",
@@ -244,8 +248,21 @@ private fun GenreMangaGrid(
         }
         
         else -> {
+            val gridState = rememberLazyGridState()
+            
+            // Visible range drives prefetch near the end and reloads of dropped pages
+            LaunchedEffect(gridState) {
+                snapshotFlow {
+                    val visible = gridState.layoutInfo.visibleItemsInfo
+                    Pair(visible.firstOrNull()?.index ?: 0, visible.lastOrNull()?.index ?: 0)
+                }.collect { (first, last) ->
+                    viewModel.onGenreMangaVisible(first, last)
+                }
+            }
+            
             LazyVerticalGrid(
                 columns = GridCells.Fixed(2),
+                state = gridState,
                 contentPadding = PaddingValues(
                     start = 16.dp,
                     end = 16.dp,
@@ -254,14 +271,20 @@ private fun GenreMangaGrid(
                 horizontalArrangement = Arrangement.spacedBy(12.dp),
                 verticalArrangement = Arrangement.spacedBy(12.dp)
             ) {
+                val pagedItems = mangaState.items
                 items(
-                    items = genreState.genreManga,
-                    key = { it.malId }
-                ) { manga ->
-                    MangaCardCompact(
-                        manga = manga,
-                        onClick = { onMangaClick(manga.malId) }
-                    )
+                    count = pagedItems.size,
+                    key = { index -> pagedItems.key(index) }
+                ) { index ->
+                    val manga = pagedItems[index]
+                    if (manga == null) {
+                        MangaCardCompactPlaceholder()
+                    } else {
+                        MangaCardCompact(
+                            manga = manga,
+                            onClick = { onMangaClick(manga.malId) }
+                        )
+                    }
                 }
             }
         }
@@ -36,6 +36,15 @@ fun HomeScreen(
     val topMangaState by viewModel.topMangaState.collectAsState()
     val popularMangaState by viewModel.popularMangaState.collectAsState()
     
+    // Time to first content: reported once the first frame with a list has been drawn
+    val hasContent = topMangaState.items.isNotEmpty() || popularMangaState.items.isNotEmpty()
+    LaunchedEffect(hasContent) {
+        if (hasContent) {
+            withFrameNanos { }
+            viewModel.onHomeContentShown()
+        }
+    }
+    
     Box(
         modifier = modifier
             .fillMaxSize()
@@ -86,13 +95,13 @@ fun HomeScreen(
                 )
             }
             
-            if (popularMangaState.isLoading && popularMangaState.mangaList.isEmpty()) {
+            if (popularMangaState.isLoading && popularMangaState.items.isEmpty()) {
                 item {
                     MangaLoadingIndicator(
                         modifier = Modifier.padding(vertical = 32.dp)
                     )
                 }
-            } else if (popularMangaState.error != null && popularMangaState.mangaList.isEmpty()) {
+            } else if (popularMangaState.error != null && popularMangaState.items.isEmpty()) {
                 item {
                     MangaErrorMessage(
                         message = popularMangaState.error!!,
@@ -101,7 +110,7 @@ fun HomeScreen(
                 }
             } else {
                 itemsIndexed(
-                    items = popularMangaState.mangaList.take(10),
+                    items = popularMangaState.items.take(10).filterNotNull(),
                     key = { _, manga -> manga.malId }
                 ) { index, manga ->
                     AnimatedVisibility(
@@ -181,7 +190,7 @@ private fun TopMangaSection(
     onRetry: () -> Unit
 ) {
     when {
-        state.isLoading && state.mangaList.isEmpty() -> {
+        state.isLoading && state.items.isEmpty() -> {
             Box(
                 modifier = Modifier
                     .fillMaxWidth()
@@ -191,7 +200,7 @@ private fun TopMangaSection(
                 MangaLoadingIndicator()
             }
         }
-        state.error != null && state.mangaList.isEmpty() -> {
+        state.error != null && state.items.isEmpty() -> {
             MangaErrorMessage(
                 message = state.error!!,
                 onRetry = onRetry,
@@ -204,7 +213,7 @@ private fun TopMangaSection(
                 horizontalArrangement = Arrangement.spacedBy(16.dp)
             ) {
                 items(
-                    items = state.mangaList.take(15),
+                    items = state.items.take(15).filterNotNull(),
                     key = { it.malId }
                 ) { manga ->
                     MangaCardFeatured(
@@ -6,7 +6,6 @@ import androidx.compose.animation.slideInVertically
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
-import androidx.compose.foundation.lazy.itemsIndexed
 import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.automirrored.filled.ArrowBack
@@ -75,7 +74,7 @@ fun PopularListScreen(
                 )
         ) {
             when {
-                popularMangaState.isLoading && popularMangaState.mangaList.isEmpty() -> {
+                popularMangaState.isLoading && popularMangaState.items.isEmpty() -> {
                     Box(
                         modifier = Modifier.fillMaxSize(),
                         contentAlignment = Alignment.Center
@@ -83,13 +82,13 @@ fun PopularListScreen(
                         MangaLoadingIndicator()
                     }
                 }
-                popularMangaState.error != null && popularMangaState.mangaList.isEmpty() -> {
+                popularMangaState.error != null && popularMangaState.items.isEmpty() -> {
                     MangaErrorMessage(
                         message = popularMangaState.error!!,
                         onRetry = { viewModel.loadPopularManga() }
                     )
                 }
-                popularMangaState.mangaList.isEmpty() -> {
+                popularMangaState.items.isEmpty() -> {
                     EmptyState(
                         emoji = "📚",
                         title = "No manga found",
@@ -99,17 +98,13 @@ fun PopularListScreen(
                 else -> {
                     val listState = rememberLazyListState()
                     
-                    // Auto-load more when scrolling near the end
+                    // Visible range drives prefetch near the end and reloads of dropped pages
                     LaunchedEffect(listState) {
                         snapshotFlow {
-                            listState.layoutInfo.visibleItemsInfo.lastOrNull()?.index ?: -1
-                        }.collect { lastVisibleIndex ->
-                            val totalItems = popularMangaState.mangaList.size
-                            if (lastVisibleIndex >= totalItems - 3 && 
-                                popularMangaState.canLoadMore && 
-                                !popularMangaState.isLoading) {
-                                viewModel.loadMorePopularManga()
-                            }
+                            val visible = listState.layoutInfo.visibleItemsInfo
+                            Pair(visible.firstOrNull()?.index ?: 0, visible.lastOrNull()?.index ?: 0)
+                        }.collect { (first, last) ->
+                            viewModel.onPopularMangaVisible(first, last)
                         }
                     }
                     
@@ -118,10 +113,17 @@ fun PopularListScreen(
                         modifier = Modifier.fillMaxSize(),
                         contentPadding = PaddingValues(horizontal = 16.dp, vertical = 8.dp)
                     ) {
-                        itemsIndexed(
-                            items = popularMangaState.mangaList,
-                            key = { _, manga -> manga.malId }
-                        ) { index, manga ->
+                        val pagedItems = popularMangaState.items
+                        items(
+                            count = pagedItems.size,
+                            key = { index -> pagedItems.key(index) }
+                        ) { index ->
+                            val manga = pagedItems[index]
+                            if (manga == null) {
+                                // Page outside the window - reloaded as it scrolls into range
+                                MangaListItemPlaceholder(modifier = Modifier.padding(vertical = 6.dp))
+                                return@items
+                            }
                             AnimatedVisibility(
                                 visible = true,
                                 enter = fadeIn() + slideInVertically(
@@ -138,7 +140,7 @@ fun PopularListScreen(
                         }
                         
                         // Loading indicator at the bottom when loading more
-                        if (popularMangaState.isLoading && popularMangaState.mangaList.isNotEmpty()) {
+                        if (popularMangaState.isLoading && popularMangaState.items.isNotEmpty()) {
                             item {
                                 Box(
                                     modifier = Modifier
@@ -156,7 +158,7 @@ fun PopularListScreen(
                         }
                         
                         // Load more button if available and not loading
-                        if (popularMangaState.canLoadMore && !popularMangaState.isLoading && popularMangaState.mangaList.isNotEmpty()) {
+                        if (popularMangaState.canLoadMore && !popularMangaState.isLoading && popularMangaState.items.isNotEmpty()) {
                             item {
                                 Button(
                                     onClick = { viewModel.loadMorePopularManga() },
@@ -8,6 +8,7 @@ import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.grid.GridCells
 import androidx.compose.foundation.lazy.grid.LazyVerticalGrid
 import androidx.compose.foundation.lazy.grid.items
+import androidx.compose.foundation.lazy.grid.rememberLazyGridState
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.foundation.text.KeyboardActions
 import androidx.compose.foundation.text.KeyboardOptions
@@ -68,7 +69,10 @@ fun SearchScreen(
             // Search Bar
             OutlinedTextField(
                 value = searchQuery,
-                onValueChange = { searchQuery = it },
+                onValueChange = {
+                    searchQuery = it
+                    viewModel.onSearchQueryChanged(it)
+                },
                 modifier = Modifier.fillMaxWidth(),
                 placeholder = {
                     Text(
@@ -153,7 +157,7 @@ fun SearchScreen(
         
         // Search Results
         when {
-            searchState.isLoading -> {
+            searchState.isLoading && searchState.results.isEmpty() && searchState.localResults.isEmpty() -> {
                 Box(
                     modifier = Modifier
                         .fillMaxSize()
@@ -164,7 +168,7 @@ fun SearchScreen(
                 }
             }
             
-            searchState.error != null -> {
+            searchState.error != null && searchState.results.isEmpty() && searchState.localResults.isEmpty() -> {
                 MangaErrorMessage(
                     message = searchState.error!!,
                     onRetry = { viewModel.searchManga(searchQuery) },
@@ -172,7 +176,7 @@ fun SearchScreen(
                 )
             }
             
-            searchState.hasSearched && searchState.results.isEmpty() -> {
+            searchState.hasSearched && searchState.results.isEmpty() && searchState.localResults.isEmpty() -> {
                 EmptyState(
                     emoji = "🔍",
                     title = "No manga found",
@@ -181,7 +185,7 @@ fun SearchScreen(
                 )
             }
             
-            !searchState.hasSearched -> {
+            !searchState.hasSearched && searchState.localResults.isEmpty() -> {
                 // Show suggestions or recent searches
                 Box(
                     modifier = Modifier
@@ -217,16 +221,30 @@ fun SearchScreen(
                 Column(
                     modifier = Modifier.weight(1f)
                 ) {
-                    // Results count
+                    // Results count - Jikan's total already covers the known manga found remotely too;
+                    // without it, the remote rows shown are the ones not among the local results
                     Text(
-                        text = "${searchState.results.size} results found",
+                        text = "${searchState.pagination?.items?.total ?: (searchState.localResults.size + searchState.results.size)} results found",
                         style = MaterialTheme.typography.bodyMedium,
                         color = TextSecondary,
                         modifier = Modifier.padding(horizontal = 16.dp, vertical = 8.dp)
                     )
                     
+                    val gridState = rememberLazyGridState()
+                    
+                    // Visible range drives prefetch near the end and reloads of dropped pages
+                    LaunchedEffect(gridState) {
+                        snapshotFlow {
+                            val visible = gridState.layoutInfo.visibleItemsInfo
+                            Pair(visible.firstOrNull()?.index ?: 0, visible.lastOrNull()?.index ?: 0)
+                        }.collect { (first, last) ->
+                            viewModel.onSearchResultsVisible(first, last)
+                        }
+                    }
+                    
                     LazyVerticalGrid(
                         columns = GridCells.Fixed(2),
+                        state = gridState,
                         contentPadding = PaddingValues(
                             start = 16.dp,
                             end = 16.dp,
@@ -235,15 +253,32 @@ fun SearchScreen(
                         horizontalArrangement = Arrangement.spacedBy(12.dp),
                         verticalArrangement = Arrangement.spacedBy(12.dp)
                     ) {
+                        // Known manga from the on-device index, then what Jikan adds
                         items(
-                            items = searchState.results,
-                            key = { it.malId }
+                            items = searchState.localResults,
+                            key = { "local:${it.malId}" }
                         ) { manga ->
                             MangaCardCompact(
                                 manga = manga,
                                 onClick = { onMangaClick(manga.malId) }
                             )
                         }
+                        
+                        val pagedItems = searchState.results
+                        items(
+                            count = pagedItems.size,
+                            key = { index -> pagedItems.key(index) }
+                        ) { index ->
+                            val manga = pagedItems[index]
+                            if (manga == null) {
+                                MangaCardCompactPlaceholder()
+                            } else {
+                                MangaCardCompact(
+                                    manga = manga,
+                                    onClick = { onMangaClick(manga.malId) }
+                                )
+                            }
+                        }
                     }
                 }
             }
@@ -6,7 +6,6 @@ import androidx.compose.animation.slideInVertically
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
-import androidx.compose.foundation.lazy.itemsIndexed
 import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.automirrored.filled.ArrowBack
@@ -75,7 +74,7 @@ fun TopRatedListScreen(
                 )
         ) {
             when {
-                topMangaState.isLoading && topMangaState.mangaList.isEmpty() -> {
+                topMangaState.isLoading && topMangaState.items.isEmpty() -> {
                     Box(
                         modifier = Modifier.fillMaxSize(),
                         contentAlignment = Alignment.Center
@@ -83,13 +82,13 @@ fun TopRatedListScreen(
                         MangaLoadingIndicator()
                     }
                 }
-                topMangaState.error != null && topMangaState.mangaList.isEmpty() -> {
+                topMangaState.error != null && topMangaState.items.isEmpty() -> {
                     MangaErrorMessage(
                         message = topMangaState.error!!,
                         onRetry = { viewModel.loadTopManga() }
                     )
                 }
-                topMangaState.mangaList.isEmpty() -> {
+                topMangaState.items.isEmpty() -> {
                     EmptyState(
                         emoji = "📚",
                         title = "No manga found",
@@ -99,17 +98,13 @@ fun TopRatedListScreen(
                 else -> {
                     val listState = rememberLazyListState()
                     
-                    // Auto-load more when scrolling near the end
+                    // Visible range drives prefetch near the end and reloads of dropped pages
                     LaunchedEffect(listState) {
                         snapshotFlow {
-                            listState.layoutInfo.visibleItemsInfo.lastOrNull()?.index ?: -1
-                        }.collect { lastVisibleIndex ->
-                            val totalItems = topMangaState.mangaList.size
-                            if (lastVisibleIndex >= totalItems - 3 && 
-                                topMangaState.canLoadMore && 
-                                !topMangaState.isLoading) {
-                                viewModel.loadMoreTopManga()
-                            }
+                            val visible = listState.layoutInfo.visibleItemsInfo
+                            Pair(visible.firstOrNull()?.index ?: 0, visible.lastOrNull()?.index ?: 0)
+                        }.collect { (first, last) ->
+                            viewModel.onTopMangaVisible(first, last)
                         }
                     }
                     
@@ -118,10 +113,17 @@ fun TopRatedListScreen(
                         modifier = Modifier.fillMaxSize(),
                         contentPadding = PaddingValues(horizontal = 16.dp, vertical = 8.dp)
                     ) {
-                        itemsIndexed(
-                            items = topMangaState.mangaList,
-                            key = { _, manga -> manga.malId }
-                        ) { index, manga ->
+                        val pagedItems = topMangaState.items
+                        items(
+                            count = pagedItems.size,
+                            key = { index -> pagedItems.key(index) }
+                        ) { index ->
+                            val manga = pagedItems[index]
+                            if (manga == null) {
+                                // Page outside the window - reloaded as it scrolls into range
+                                MangaListItemPlaceholder(modifier = Modifier.padding(vertical = 6.dp))
+                                return@items
+                            }
                             AnimatedVisibility(
                                 visible = true,
                                 enter = fadeIn() + slideInVertically(
@@ -138,7 +140,7 @@ fun TopRatedListScreen(
                         }
                         
                         // Loading indicator at the bottom when loading more
-                        if (topMangaState.isLoading && topMangaState.mangaList.isNotEmpty()) {
+                        if (topMangaState.isLoading && topMangaState.items.isNotEmpty()) {
                             item {
                                 Box(
                                     modifier = Modifier
@@ -156,7 +158,7 @@ fun TopRatedListScreen(
                         }
                         
                         // Load more button if available and not loading
-                        if (topMangaState.canLoadMore && !topMangaState.isLoading && topMangaState.mangaList.isNotEmpty()) {
+                        if (topMangaState.canLoadMore && !topMangaState.isLoading && topMangaState.items.isNotEmpty()) {
                             item {
                                 Button(
                                     onClick = { viewModel.loadMoreTopManga() },
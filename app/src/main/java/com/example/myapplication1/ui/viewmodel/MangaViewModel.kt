@@ -6,36 +6,51 @@ import com.example.myapplication1.data.api.GenreInfo
 import com.example.myapplication1.data.local.entity.WatchlistItem
 import com.example.myapplication1.data.model.*
 import com.example.myapplication1.data.network.ApiResult
+import com.example.myapplication1.data.network.RequestPriority
 import com.example.myapplication1.data.repository.MangaRepository
+import com.example.myapplication1.data.repository.PagedItems
+import com.example.myapplication1.data.repository.PagingState
+import com.example.myapplication1.data.repository.WindowedPager
 import com.example.myapplication1.data.repository.WatchlistRepository
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.flow.collect
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.debounce
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import java.util.concurrent.TimeUnit
 
 /**
- * UI State for manga lists
+ * UI State for manga lists - a window of Jikan pages, see [WindowedPager]
  */
-data class MangaListState(
-    val mangaList: List<Manga> = emptyList(),
-    val isLoading: Boolean = false,
-    val error: String? = null,
-    val pagination: Pagination? = null,
-    val currentPage: Int = 1,
-    val canLoadMore: Boolean = false
-)
+typealias MangaListState = PagingState<MangaSummary>
 
 /**
  * UI State for search
  */
 data class SearchState(
     val query: String = "",
-    val results: List<Manga> = emptyList(),
+    val localResults: List<MangaSummary> = emptyList(), // Known manga, shown first
+    val results: PagedItems<MangaSummary> = PagedItems.empty(), // Jikan results not in localResults
     val isLoading: Boolean = false,
     val error: String? = null,
     val hasSearched: Boolean = false,
-    val pagination: Pagination? = null
+    val pagination: Pagination? = null,
+    val canLoadMore: Boolean = false
 )
 
 /**
@@ -53,7 +68,6 @@ data class MangaDetailState(
 data class GenreState(
     val genres: List<GenreInfo> = emptyList(),
     val selectedGenre: GenreInfo? = null,
-    val genreManga: List<Manga> = emptyList(),
     val isLoading: Boolean = false,
     val error: String? = null
 )
@@ -75,17 +89,58 @@ class MangaViewModel(
     // Current user ID for watchlist operations
     private var currentUserId: String? = null
     
-    // Top manga state
-    private val _topMangaState = MutableStateFlow(MangaListState())
-    val topMangaState: StateFlow<MangaListState> = _topMangaState.asStateFlow()
-    
-    // Popular manga state
-    private val _popularMangaState = MutableStateFlow(MangaListState())
-    val popularMangaState: StateFlow<MangaListState> = _popularMangaState.asStateFlow()
-    
-    // Search state
-    private val _searchState = MutableStateFlow(SearchState())
-    val searchState: StateFlow<SearchState> = _searchState.asStateFlow()
+    // Top manga list (with content filtering from MyApplication1)
+    private val topPager = WindowedPager<MangaSummary>(
+        scope = viewModelScope,
+        load = { page, priority, cachedOnly ->
+            repository.topMangaStream(page = page, priority = priority, revalidate = !cachedOnly)
+        },
+        transform = { it.filterHentai() }
+    )
+    val topMangaState: StateFlow<MangaListState> = topPager.state
+    
+    // Popular manga list
+    private val popularPager = WindowedPager<MangaSummary>(
+        scope = viewModelScope,
+        load = { page, priority, cachedOnly ->
+            repository.topMangaStream(page = page, filter = "bypopularity", priority = priority, revalidate = !cachedOnly)
+        },
+        transform = { it.filterHentai() }
+    )
+    val popularMangaState: StateFlow<MangaListState> = popularPager.state
+    
+    // Search: typed input -> debounced, de-duplicated query -> paged results
+    private data class SearchInput(val query: String, val immediate: Boolean, val attempt: Int = 0)
+    
+    private val searchInput = MutableStateFlow(SearchInput("", immediate = true))
+    private val searchedQuery = MutableStateFlow("")
+    // On-device index hits, tagged with the query they are for (may run ahead of searchedQuery while typing)
+    private data class LocalResults(val query: String, val items: List<MangaSummary>)
+    private val localSearchResults = MutableStateFlow(LocalResults("", emptyList()))
+    // Ids shown from the local index for the searched query - left out of remote pages
+    private var localResultIds: Set<Int> = emptySet()
+    private val searchPager = WindowedPager<MangaSummary>(
+        scope = viewModelScope,
+        load = { page, priority, _ -> repository.searchMangaStream(searchedQuery.value, page, priority) },
+        transform = { page -> page.filterHentai().filter { it.malId !in localResultIds } }
+    )
+    val searchState: StateFlow<SearchState> = combine(
+        searchedQuery,
+        localSearchResults,
+        searchPager.state
+    ) { query, local, results ->
+        SearchState(
+            query = query,
+            // Only next to the remote pages of the same query
+            localResults = if (local.query == query) local.items else emptyList(),
+            results = results.items,
+            isLoading = results.isLoading,
+            error = results.error,
+            hasSearched = query.isNotEmpty(),
+            pagination = results.pagination,
+            canLoadMore = results.canLoadMore
+        )
+    }.stateIn(viewModelScope, SharingStarted.Eagerly, SearchState())
     
     // Detail state
     private val _detailState = MutableStateFlow(MangaDetailState())
@@ -95,6 +150,17 @@ class MangaViewModel(
     private val _genreState = MutableStateFlow(GenreState())
     val genreState: StateFlow<GenreState> = _genreState.asStateFlow()
     
+    // Manga of the selected genre
+    private val genrePager = WindowedPager<MangaSummary>(
+        scope = viewModelScope,
+        load = { page, priority, cachedOnly ->
+            val genreId = requireNotNull(_genreState.value.selectedGenre).mal_id.toString()
+            repository.mangaByGenreStream(genreId, page = page, priority = priority, revalidate = !cachedOnly)
+        },
+        transform = { it.filterHentai() }
+    )
+    val genreMangaState: StateFlow<MangaListState> = genrePager.state
+    
     // Random manga state
     private val _randomManga = MutableStateFlow<Manga?>(null)
     val randomManga: StateFlow<Manga?> = _randomManga.asStateFlow()
@@ -103,9 +169,18 @@ class MangaViewModel(
     private val _mangadexChaptersState = MutableStateFlow<Pair<List<MangaDexChapter>, Int?>>(Pair(emptyList(), null))
     val mangadexChaptersState: StateFlow<Pair<List<MangaDexChapter>, Int?>> = _mangadexChaptersState.asStateFlow()
     
+    // Why the chapter list is missing or incomplete, null when it loaded in full
+    private val _mangadexChaptersError = MutableStateFlow<String?>(null)
+    val mangadexChaptersError: StateFlow<String?> = _mangadexChaptersError.asStateFlow()
+    
     private val _chapterPagesState = MutableStateFlow(ChapterPagesState())
     val chapterPagesState: StateFlow<ChapterPagesState> = _chapterPagesState.asStateFlow()
     
+    // Chapter after the one being read, warmed up near the end of it
+    private val _nextChapter = MutableStateFlow<NextChapter?>(null)
+    val nextChapter: StateFlow<NextChapter?> = _nextChapter.asStateFlow()
+    private var nextChapterJob: Job? = null
+    
     private val _mangadexTagsState = MutableStateFlow<List<MangaDexTag>>(emptyList())
     val mangadexTagsState: StateFlow<List<MangaDexTag>> = _mangadexTagsState.asStateFlow()
     
@@ -115,150 +190,160 @@ class MangaViewModel(
     private val _watchlistIds = MutableStateFlow<Set<Int>>(emptySet())
     val watchlistIds: StateFlow<Set<Int>> = _watchlistIds.asStateFlow()
     
-    // Watchlist manga items (from database)
-    private val _watchlistManga = MutableStateFlow<List<Manga>>(emptyList())
-    val watchlistManga: StateFlow<List<Manga>> = _watchlistManga.asStateFlow()
+    // Watchlist manga items (from database) - kept as summaries, details are not needed for the grid
+    private val _watchlistManga = MutableStateFlow<List<MangaSummary>>(emptyList())
+    val watchlistManga: StateFlow<List<MangaSummary>> = _watchlistManga.asStateFlow()
+    
+    // Watchlist entries whose details are being fetched
+    private val watchlistRefreshing = HashSet<Int>()
+    // Last refresh attempt per watchlist id - a failed one isn't retried on every Room emission
+    private val watchlistRefreshAttempts = HashMap<Int, Long>()
     
     // Watchlist items from database
     private val _watchlistItems = MutableStateFlow<List<WatchlistItem>>(emptyList())
     val watchlistItems: StateFlow<List<WatchlistItem>> = _watchlistItems.asStateFlow()
     
+    // Running detail / chapter loads - a new selection replaces the previous one
+    private var detailJob: Job? = null
+    private var chaptersJob: Job? = null
+    
+    // Loads only what the current destination shows; the rest waits for idle or its screen
+    private val startup = StartupScheduler(viewModelScope)
+    
     init {
-        loadTopManga()
-        loadPopularManga()
-        loadGenres()
-        loadMangaDexTags()
+        startup.register(STARTUP_LISTS, setOf(StartupDestination.HOME)) { priority ->
+            loadTopManga(priority)
+            loadPopularManga(priority)
+        }
+        startup.register(STARTUP_GENRES, setOf(StartupDestination.EXPLORE)) { priority -> loadGenres(priority) }
+        startup.register(STARTUP_TAGS, setOf(StartupDestination.READER)) { loadMangaDexTags() }
+        startSearchPipeline()
     }
     
     /**
-     * Load top manga (with content filtering from MyApplication1)
+     * The app moved to a destination - start what it needs if not loaded yet
      */
-    fun loadTopManga(page: Int = 1) {
-        viewModelScope.launch {
-            _topMangaState.value = _topMangaState.value.copy(isLoading = true, error = null)
-            
-            when (val result = repository.getTopManga(page = page)) {
-                is ApiResult.Success -> {
-                    val (mangaList, pagination) = result.data
-                    // Filter out hentai manga (from MyApplication1)
-                    val filteredManga = mangaList.filterHentai()
-                    _topMangaState.value = _topMangaState.value.copy(
-                        mangaList = if (page == 1) filteredManga else _topMangaState.value.mangaList + filteredManga,
-                        isLoading = false,
-                        pagination = pagination,
-                        currentPage = page,
-                        canLoadMore = pagination?.hasNextPage ?: false
-                    )
-                }
-                is ApiResult.Error -> {
-                    _topMangaState.value = _topMangaState.value.copy(
-                        isLoading = false,
-                        error = result.message
-                    )
-                }
-                is ApiResult.Loading -> {}
-            }
-        }
-    }
+    fun onDestination(destination: StartupDestination) = startup.onDestination(destination)
     
     /**
-     * Load popular manga (with content filtering from MyApplication1)
+     * Home painted its first list content
      */
-    fun loadPopularManga(page: Int = 1) {
-        viewModelScope.launch {
-            _popularMangaState.value = _popularMangaState.value.copy(isLoading = true, error = null)
-            
-            when (val result = repository.getTopManga(page = page, filter = "bypopularity")) {
-                is ApiResult.Success -> {
-                    val (mangaList, pagination) = result.data
-                    // Filter out hentai manga (from MyApplication1)
-                    val filteredManga = mangaList.filterHentai()
-                    _popularMangaState.value = _popularMangaState.value.copy(
-                        mangaList = if (page == 1) filteredManga else _popularMangaState.value.mangaList + filteredManga,
-                        isLoading = false,
-                        pagination = pagination,
-                        currentPage = page,
-                        canLoadMore = pagination?.hasNextPage ?: false
-                    )
-                }
-                is ApiResult.Error -> {
-                    _popularMangaState.value = _popularMangaState.value.copy(
-                        isLoading = false,
-                        error = result.message
-                    )
-                }
-                is ApiResult.Loading -> {}
-            }
-        }
+    fun onHomeContentShown() = startup.onFirstContent()
+    
+    /** Process start to first Home content, once known */
+    val timeToFirstContentMillis: Long? get() = startup.timeToFirstContentMillis
+    
+    /**
+     * Load top manga from page 1
+     */
+    fun loadTopManga(priority: RequestPriority = RequestPriority.INTERACTIVE) = topPager.refresh(priority)
+    
+    /**
+     * Load popular manga from page 1
+     */
+    fun loadPopularManga(priority: RequestPriority = RequestPriority.INTERACTIVE) = popularPager.refresh(priority)
+    
+    /**
+     * Visible item range of a list screen - drives prefetch and the page window
+     */
+    fun onTopMangaVisible(first: Int, last: Int) = topPager.onVisibleRange(first, last)
+    
+    fun onPopularMangaVisible(first: Int, last: Int) = popularPager.onVisibleRange(first, last)
+    
+    fun onGenreMangaVisible(first: Int, last: Int) = genrePager.onVisibleRange(first, last)
+    
+    /**
+     * Search input changed (typing) - searched once the input settles
+     */
+    fun onSearchQueryChanged(query: String) {
+        searchInput.value = searchInput.value.copy(query = query, immediate = false)
     }
     
     /**
-     * Search manga (with content filtering from MyApplication1)
+     * Search now (submit / retry) without waiting for the input to settle
      */
     fun searchManga(query: String) {
-        if (query.isBlank()) {
-            _searchState.value = SearchState()
-            return
-        }
-        
-        viewModelScope.launch {
-            _searchState.value = _searchState.value.copy(
-                query = query,
-                isLoading = true,
-                error = null,
-                hasSearched = true
-            )
-            
-            when (val result = repository.searchManga(query = query)) {
-                is ApiResult.Success -> {
-                    val (mangaList, pagination) = result.data
-                    // Filter out hentai manga (from MyApplication1)
-                    val filteredManga = mangaList.filterHentai()
-                    _searchState.value = _searchState.value.copy(
-                        results = filteredManga,
-                        isLoading = false,
-                        pagination = pagination
-                    )
-                }
-                is ApiResult.Error -> {
-                    _searchState.value = _searchState.value.copy(
-                        isLoading = false,
-                        error = result.message
-                    )
-                }
-                is ApiResult.Loading -> {}
-            }
-        }
+        val current = searchInput.value
+        // The same query again only goes out if the last attempt failed
+        val attempt = if (searchState.value.error != null) current.attempt + 1 else current.attempt
+        searchInput.value = SearchInput(query, immediate = true, attempt = attempt)
     }
     
     /**
      * Clear search
      */
     fun clearSearch() {
-        _searchState.value = SearchState()
+        searchInput.value = searchInput.value.copy(query = "", immediate = true)
+    }
+    
+    fun onSearchResultsVisible(first: Int, last: Int) {
+        // Grid indexes count the local results shown first
+        val offset = searchState.value.localResults.size
+        searchPager.onVisibleRange((first - offset).coerceAtLeast(0), (last - offset).coerceAtLeast(0))
+    }
+    
+    /**
+     * Each settled query replaces the previous one: refreshing the pager cancels
+     * the old query's requests, so a slow response can't overwrite a newer one.
+     * Typing "one piece" sends one request; result pages come through the
+     * repository's recent-search cache, so going back to a query is free.
+     * Known manga are looked up in the on-device index on every keystroke, so
+     * they are ready when the input settles; they are shown with the remote
+     * pages of the same query only.
+     */
+    @OptIn(FlowPreview::class)
+    private fun startSearchPipeline() {
+        viewModelScope.launch {
+            searchInput
+                .map { MangaRepository.normalizeQuery(it.query) }
+                .distinctUntilChanged()
+                .collectLatest { query ->
+                    val items = if (query.isEmpty()) emptyList() else repository.searchLocal(query).filterHentai()
+                    localSearchResults.value = LocalResults(query, items)
+                }
+        }
+        viewModelScope.launch {
+            searchInput
+                .debounce { if (it.immediate) 0L else SEARCH_DEBOUNCE_MILLIS }
+                .map { it.copy(query = MangaRepository.normalizeQuery(it.query)) }
+                .distinctUntilChanged { old, new -> old.query == new.query && old.attempt == new.attempt }
+                .collectLatest { input ->
+                    // The keystroke lookup for this query - done already or about to be
+                    val local = localSearchResults.first { it.query == input.query }
+                    localResultIds = local.items.mapTo(HashSet()) { it.malId }
+                    searchedQuery.value = input.query
+                    if (input.query.isEmpty()) searchPager.clear() else searchPager.refresh()
+                }
+        }
     }
     
     /**
      * Load manga details
      */
     fun loadMangaDetails(id: Int) {
-        viewModelScope.launch {
+        detailJob?.cancel()
+        detailJob = viewModelScope.launch {
             _detailState.value = MangaDetailState(isLoading = true)
             
-            when (val result = repository.getMangaById(id)) {
-                is ApiResult.Success -> {
-                    _detailState.value = MangaDetailState(
-                        manga = result.data,
-                        isLoading = false
-                    )
-                }
-                is ApiResult.Error -> {
-                    _detailState.value = MangaDetailState(
-                        isLoading = false,
-                        error = result.message
-                    )
+            repository.mangaDetailsStream(id).collect { result ->
+                when (result) {
+                    is ApiResult.Success -> {
+                        _detailState.value = MangaDetailState(
+                            manga = result.data,
+                            isLoading = false
+                        )
+                    }
+                    is ApiResult.Error -> {
+                        // Keep a stored copy on screen if the refresh fails
+                        if (_detailState.value.manga == null) {
+                            _detailState.value = MangaDetailState(
+                                isLoading = false,
+                                error = result.message
+                            )
+                        }
+                    }
+                    is ApiResult.Loading -> {}
                 }
-                is ApiResult.Loading -> {}
             }
         }
     }
@@ -267,75 +352,51 @@ class MangaViewModel(
      * Clear manga details
      */
     fun clearMangaDetails() {
+        detailJob?.cancel()
         _detailState.value = MangaDetailState()
     }
     
     /**
      * Load genres
      */
-    fun loadGenres() {
+    fun loadGenres(priority: RequestPriority = RequestPriority.INTERACTIVE) {
         viewModelScope.launch {
             _genreState.value = _genreState.value.copy(isLoading = true, error = null)
             
-            when (val result = repository.getMangaGenres()) {
-                is ApiResult.Success -> {
-                    _genreState.value = _genreState.value.copy(
-                        genres = result.data,
-                        isLoading = false
-                    )
-                }
-                is ApiResult.Error -> {
-                    _genreState.value = _genreState.value.copy(
-                        isLoading = false,
-                        error = result.message
-                    )
+            repository.mangaGenresStream(priority).collect { result ->
+                when (result) {
+                    is ApiResult.Success -> {
+                        _genreState.value = _genreState.value.copy(
+                            genres = result.data,
+                            isLoading = false
+                        )
+                    }
+                    is ApiResult.Error -> {
+                        _genreState.value = _genreState.value.copy(
+                            isLoading = false,
+                            error = if (_genreState.value.genres.isEmpty()) result.message else null
+                        )
+                    }
+                    is ApiResult.Loading -> {}
                 }
-                is ApiResult.Loading -> {}
             }
         }
     }
     
     /**
-     * Select a genre and load manga for it (with content filtering from MyApplication1)
+     * Select a genre and load manga for it
      */
     fun selectGenre(genre: GenreInfo) {
-        viewModelScope.launch {
-            _genreState.value = _genreState.value.copy(
-                selectedGenre = genre,
-                isLoading = true,
-                error = null
-            )
-            
-            when (val result = repository.getMangaByGenre(genre.mal_id.toString())) {
-                is ApiResult.Success -> {
-                    val (mangaList, _) = result.data
-                    // Filter out hentai manga (from MyApplication1)
-                    val filteredManga = mangaList.filterHentai()
-                    _genreState.value = _genreState.value.copy(
-                        genreManga = filteredManga,
-                        isLoading = false
-                    )
-                }
-                is ApiResult.Error -> {
-                    _genreState.value = _genreState.value.copy(
-                        isLoading = false,
-                        error = result.message
-                    )
-                }
-                is ApiResult.Loading -> {}
-            }
-        }
+        _genreState.value = _genreState.value.copy(selectedGenre = genre)
+        genrePager.refresh()
     }
     
     /**
      * Clear genre selection and return to genre list (from Manga-Mobile)
      */
     fun clearGenreSelection() {
-        _genreState.value = _genreState.value.copy(
-            selectedGenre = null,
-            genreManga = emptyList(),
-            error = null
-        )
+        genrePager.clear()
+        _genreState.value = _genreState.value.copy(selectedGenre = null)
     }
     
     /**
@@ -343,7 +404,7 @@ class MangaViewModel(
      */
     fun loadRandomManga() {
         viewModelScope.launch {
-            when (val result = repository.getRandomManga()) {
+            when (val result = repository.getRandomManga(RequestPriority.BACKGROUND)) {
                 is ApiResult.Success -> {
                     _randomManga.value = result.data
                 }
@@ -358,22 +419,17 @@ class MangaViewModel(
     /**
      * Load more top manga (pagination)
      */
-    fun loadMoreTopManga() {
-        val currentState = _topMangaState.value
-        if (!currentState.isLoading && currentState.canLoadMore) {
-            loadTopManga(currentState.currentPage + 1)
-        }
-    }
+    fun loadMoreTopManga() = topPager.loadMore()
     
     /**
      * Load more popular manga (pagination)
      */
-    fun loadMorePopularManga() {
-        val currentState = _popularMangaState.value
-        if (!currentState.isLoading && currentState.canLoadMore) {
-            loadPopularManga(currentState.currentPage + 1)
-        }
-    }
+    fun loadMorePopularManga() = popularPager.loadMore()
+    
+    /**
+     * Load more manga of the selected genre (pagination)
+     */
+    fun loadMoreGenreManga() = genrePager.loadMore()
     
     /**
      * Refresh all data
@@ -381,8 +437,9 @@ class MangaViewModel(
     fun refresh() {
         loadTopManga()
         loadPopularManga()
-        loadGenres()
-        loadMangaDexTags()
+        // Only what was loaded already - the rest still waits for its screen or idle
+        if (startup.hasStarted(STARTUP_GENRES)) loadGenres(RequestPriority.BACKGROUND)
+        if (startup.hasStarted(STARTUP_TAGS)) loadMangaDexTags()
     }
     
     // ========== MangaDex Methods ==========
@@ -391,15 +448,21 @@ class MangaViewModel(
      * Load manga chapters from MangaDex
      */
     fun loadMangaDexChapters(mangaId: String, language: List<String> = listOf("en")) {
-        viewModelScope.launch {
-            when (val result = repository.getMangaDexChapters(mangaId, language = language)) {
-                is ApiResult.Success -> {
-                    _mangadexChaptersState.value = result.data
-                }
-                is ApiResult.Error -> {
-                    // Handle error if needed
+        chaptersJob?.cancel()
+        _mangadexChaptersState.value = Pair(emptyList(), null)
+        _mangadexChaptersError.value = null
+        chaptersJob = viewModelScope.launch {
+            // Stored list first (then a small delta sync), or the whole feed as pages arrive
+            repository.mangaDexChapterList(mangaId, language = language).collect { result ->
+                when (result) {
+                    is ApiResult.Success -> {
+                        _mangadexChaptersState.value = result.data
+                    }
+                    is ApiResult.Error -> {
+                        _mangadexChaptersError.value = result.message
+                    }
+                    is ApiResult.Loading -> {}
                 }
-                is ApiResult.Loading -> {}
             }
         }
     }
@@ -408,18 +471,30 @@ class MangaViewModel(
      * Load chapter pages
      */
     fun loadChapterPages(chapterId: String) {
+        // The warmed-up descriptor serves this one open, while its at-home URLs are still young
+        val warmed = _nextChapter.value?.takeIf { it.id == chapterId && it.pages != null }
+        if (warmed != null) {
+            _nextChapter.value = warmed.copy(pages = null)
+            if (System.currentTimeMillis() - warmed.fetchedAt < WARMED_CHAPTER_MAX_AGE_MILLIS) {
+                _chapterPagesState.value = ChapterPagesState(chapterId = chapterId, pages = warmed.pages)
+                return
+            }
+        }
+        
         viewModelScope.launch {
-            _chapterPagesState.value = ChapterPagesState(isLoading = true)
+            _chapterPagesState.value = ChapterPagesState(chapterId = chapterId, isLoading = true)
             
             when (val result = repository.getChapterPages(chapterId)) {
                 is ApiResult.Success -> {
                     _chapterPagesState.value = ChapterPagesState(
+                        chapterId = chapterId,
                         pages = result.data,
                         isLoading = false
                     )
                 }
                 is ApiResult.Error -> {
                     _chapterPagesState.value = ChapterPagesState(
+                        chapterId = chapterId,
                         isLoading = false,
                         error = result.message
                     )
@@ -430,10 +505,50 @@ class MangaViewModel(
     }
     
     /**
-     * Clear chapter pages
+     * Clear chapter pages - unless they already belong to the next chapter opened
      */
-    fun clearChapterPages() {
-        _chapterPagesState.value = ChapterPagesState()
+    fun clearChapterPages(chapterId: String) {
+        if (_chapterPagesState.value.chapterId == chapterId) {
+            _chapterPagesState.value = ChapterPagesState()
+        }
+        if (_nextChapter.value?.previousId == chapterId) {
+            nextChapterJob?.cancel()
+            _nextChapter.value = null
+        }
+    }
+    
+    /**
+     * Reader is near the end of [chapterId]: find the chapter after it in the
+     * loaded feed and fetch its at-home descriptor in the background, so
+     * opening it right after needs no round trip. The reader warms its first pages.
+     */
+    fun warmUpNextChapter(chapterId: String) {
+        if (_nextChapter.value?.previousId == chapterId) return
+        val next = nextChapterAfter(chapterId, _mangadexChaptersState.value.first) ?: return
+        val title = next.attributes.title ?: "Chapter ${next.attributes.chapter ?: "?"}"
+        _nextChapter.value = NextChapter(previousId = chapterId, id = next.id, title = title)
+        
+        nextChapterJob?.cancel()
+        nextChapterJob = viewModelScope.launch {
+            val result = repository.getChapterPages(next.id, RequestPriority.BACKGROUND)
+            if (result is ApiResult.Success) {
+                _nextChapter.value = _nextChapter.value?.takeIf { it.id == next.id }
+                    ?.copy(pages = result.data, fetchedAt = System.currentTimeMillis())
+            }
+        }
+    }
+    
+    private fun nextChapterAfter(chapterId: String, chapters: List<MangaDexChapter>): MangaDexChapter? {
+        val index = chapters.indexOfFirst { it.id == chapterId }
+        if (index < 0) return null
+        val current = chapters[index].attributes.chapter?.toFloatOrNull()
+        // The feed is in chapter order; external-only chapters can't be read here
+        val following = chapters.drop(index + 1).filter { it.attributes.externalUrl == null }
+        if (current == null) return following.firstOrNull()
+        // Other groups' copies of this chapter are skipped, and oneshots/extras only
+        // stand in when no numbered chapter follows
+        return following.firstOrNull { chapter -> chapter.attributes.chapter?.toFloatOrNull()?.let { it > current } == true }
+            ?: following.firstOrNull { it.attributes.chapter?.toFloatOrNull() == null }
     }
     
     /**
@@ -488,36 +603,16 @@ class MangaViewModel(
     }
     
     /**
-     * Search MangaDex by title for reading - finds first match
-     * Automatically excludes hentai/erotic content (from MyApplication1)
+     * Find the MangaDex entry to read a manga from.
+     * The first lookup searches MangaDex; later ones come from the stored mapping.
      */
     fun searchMangaDexForReading(
+        malId: Int,
         title: String,
         onFound: (String?) -> Unit
     ) {
         viewModelScope.launch {
-            when (val result = repository.searchMangaDex(
-                title = title,
-                limit = 5, // Only need first few results
-                contentRating = listOf("safe", "suggestive") // Force safe content only (from MyApplication1)
-            )) {
-                is ApiResult.Success -> {
-                    // Filter out any hentai that might have slipped through (from MyApplication1)
-                    val safeManga = result.data.first.firstOrNull { manga ->
-                        manga.attributes.contentRating?.lowercase() !in listOf("erotica", "pornographic") &&
-                        !manga.attributes.tags.orEmpty().any { tag ->
-                            val tagName = tag.getName().lowercase()
-                            tagName.contains("hentai") || tagName.contains("erotica") ||
-                            tagName.contains("sexual content") || tagName.contains("pornographic")
-                        }
-                    }
-                    onFound(safeManga?.id)
-                }
-                is ApiResult.Error -> {
-                    onFound(null)
-                }
-                is ApiResult.Loading -> {}
-            }
+            onFound(repository.resolveMangaDexId(malId, title))
         }
     }
     
@@ -534,8 +629,15 @@ class MangaViewModel(
                 watchlistRepository.getWatchlistByUserId(userId).collect { items ->
                     _watchlistItems.value = items
                     _watchlistIds.value = items.map { it.mangaId }.toSet()
-                    // Load full manga details for watchlist items
-                    refreshWatchlistMangaFromItems(items)
+                    // Rendered from the stored columns; only stale details are fetched again
+                    _watchlistManga.value = items.map { it.toSummary() }
+                    refreshStaleWatchlistDetails(items)
+                    // Resolve MangaDex ids ahead of time so "Read" skips the search
+                    launch {
+                        repository.runLatestInBackground(MANGADEX_RESOLVE_KEY) {
+                            repository.resolveMangaDexIds(items.map { it.mangaId to it.mangaTitle })
+                        }
+                    }
                 }
             }
         } else {
@@ -591,8 +693,8 @@ class MangaViewModel(
             val newIds = _watchlistIds.value + manga.malId
             _watchlistIds.value = newIds
             val currentManga = _watchlistManga.value
-            if (manga !in currentManga) {
-                _watchlistManga.value = currentManga + manga
+            if (currentManga.none { it.malId == manga.malId }) {
+                _watchlistManga.value = currentManga + manga.toSummary()
             }
         }
     }
@@ -623,64 +725,142 @@ class MangaViewModel(
     }
     
     /**
-     * Load full details for watchlist manga
+     * Refresh watchlist manga details that are stale
      */
     fun refreshWatchlistManga() {
         if (watchlistRepository != null && currentUserId != null) {
-            // Load from database items
-            viewModelScope.launch {
-                val items = watchlistRepository.getWatchlistByUserIdSuspend(currentUserId!!)
-                refreshWatchlistMangaFromItems(items)
-            }
+            refreshStaleWatchlistDetails(_watchlistItems.value)
         } else {
-            // Fallback to in-memory
-            viewModelScope.launch {
-                val ids = _watchlistIds.value
-                if (ids.isEmpty()) {
-                    _watchlistManga.value = emptyList()
-                    return@launch
-                }
-                
-                val loadedManga = mutableListOf<Manga>()
-                ids.forEach { mangaId ->
-                    when (val result = repository.getMangaById(mangaId)) {
-                        is ApiResult.Success -> {
-                            loadedManga.add(result.data)
-                        }
-                        else -> {}
-                    }
-                }
-                _watchlistManga.value = loadedManga
-            }
+            refreshInMemoryWatchlist()
         }
     }
     
     /**
-     * Refresh watchlist manga from database items
+     * In-memory fallback of [refreshStaleWatchlistDetails]: fetches only the
+     * watchlist entries with no details yet, or whose last fetch is older than
+     * [WATCHLIST_DETAILS_TTL_MILLIS], a few at a time in the background lane.
      */
-    private suspend fun refreshWatchlistMangaFromItems(items: List<WatchlistItem>) {
-        if (items.isEmpty()) {
+    private fun refreshInMemoryWatchlist() {
+        val ids = _watchlistIds.value
+        if (ids.isEmpty()) {
             _watchlistManga.value = emptyList()
             return
         }
+        val now = System.currentTimeMillis()
+        val loaded = _watchlistManga.value.associateBy { it.malId }
+        val stale = ids.filter { mangaId ->
+            val lastAttempt = watchlistRefreshAttempts[mangaId]
+            val due = if (mangaId in loaded) {
+                lastAttempt != null && now - lastAttempt > WATCHLIST_DETAILS_TTL_MILLIS
+            } else {
+                lastAttempt == null || now - lastAttempt > WATCHLIST_RETRY_MILLIS
+            }
+            due && watchlistRefreshing.add(mangaId)
+        }
+        if (stale.isEmpty()) return
+        stale.forEach { watchlistRefreshAttempts[it] = now }
         
-        val loadedManga = mutableListOf<Manga>()
-        items.forEach { item ->
-            when (val result = repository.getMangaById(item.mangaId)) {
-                is ApiResult.Success -> {
-                    loadedManga.add(result.data)
+        viewModelScope.launch {
+            try {
+                val permits = Semaphore(WATCHLIST_REFRESH_CONCURRENCY)
+                val refreshed = coroutineScope {
+                    stale.map { mangaId ->
+                        async {
+                            permits.withPermit {
+                                (repository.getMangaById(mangaId, RequestPriority.BACKGROUND) as? ApiResult.Success)
+                                    ?.data?.toSummary()
+                            }
+                        }
+                    }.awaitAll().filterNotNull()
+                }.associateBy { it.malId }
+                // Against the current list - entries may have been added or removed meanwhile
+                val current = _watchlistManga.value.associateBy { it.malId }
+                _watchlistManga.value = _watchlistIds.value.mapNotNull { refreshed[it] ?: current[it] }
+            } finally {
+                stale.forEach { watchlistRefreshing.remove(it) }
+            }
+        }
+    }
+    
+    /**
+     * Fetch details for watchlist items whose stored copy is older than
+     * [WATCHLIST_DETAILS_TTL_MILLIS], a few at a time in the background lane,
+     * and write them back in one batch. Items already being refreshed, or
+     * tried within [WATCHLIST_RETRY_MILLIS] (failed: offline, removed from
+     * Jikan), are skipped, so Room emissions don't start the work again.
+     */
+    private fun refreshStaleWatchlistDetails(items: List<WatchlistItem>) {
+        val watchlist = watchlistRepository ?: return
+        val now = System.currentTimeMillis()
+        val stale = items.filter { item ->
+            val lastAttempt = watchlistRefreshAttempts[item.mangaId]
+            now - item.detailsRefreshedAt > WATCHLIST_DETAILS_TTL_MILLIS &&
+                (lastAttempt == null || now - lastAttempt > WATCHLIST_RETRY_MILLIS) &&
+                watchlistRefreshing.add(item.mangaId)
+        }
+        if (stale.isEmpty()) return
+        stale.forEach { watchlistRefreshAttempts[it.mangaId] = now }
+        
+        viewModelScope.launch {
+            try {
+                val permits = Semaphore(WATCHLIST_REFRESH_CONCURRENCY)
+                val refreshed = coroutineScope {
+                    stale.map { item ->
+                        async {
+                            permits.withPermit {
+                                (repository.getMangaById(item.mangaId, RequestPriority.BACKGROUND) as? ApiResult.Success)
+                                    ?.let { Pair(item, it.data) }
+                            }
+                        }
+                    }.awaitAll().filterNotNull()
                 }
-                else -> {}
+                watchlist.updateDetails(refreshed)
+            } finally {
+                stale.forEach { watchlistRefreshing.remove(it.mangaId) }
             }
         }
-        _watchlistManga.value = loadedManga
+    }
+    
+    private fun WatchlistItem.toSummary(): MangaSummary {
+        return MangaSummary(
+            malId = mangaId,
+            images = mangaImageUrl?.let { MangaImages(jpg = ImageUrls(it, null, null), webp = null) },
+            title = mangaTitle,
+            score = mangaScore
+        )
+    }
+    
+    companion object {
+        private const val SEARCH_DEBOUNCE_MILLIS = 350L
+        private const val STARTUP_LISTS = "lists"
+        private const val STARTUP_GENRES = "genres"
+        private const val STARTUP_TAGS = "mangadex-tags"
+        private const val WATCHLIST_REFRESH_CONCURRENCY = 3
+        private val WATCHLIST_DETAILS_TTL_MILLIS = TimeUnit.DAYS.toMillis(1)
+        private val WATCHLIST_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(30)
+        // At-home URLs last about 15 minutes; a warmed descriptor older than this is fetched again
+        private val WARMED_CHAPTER_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(5)
+        private const val MANGADEX_RESOLVE_KEY = "mangadex-resolve"
     }
 }
 
+/**
+ * Chapter after the one being read
+ * @param pages At-home descriptor, once fetched (at [fetchedAt]) - used up by the next open
+ */
+data class NextChapter(
+    val previousId: String,
+    val id: String,
+    val title: String,
+    val pages: MangaDexChapterPages? = null,
+    val fetchedAt: Long = 0
+)
+
 /**
  * UI State for chapter pages
  */
 data class ChapterPagesState(
+    val chapterId: String? = null,
     val pages: MangaDexChapterPages? = null,
     val isLoading: Boolean = false,
     val error: String? = null
@@ -0,0 +1,94 @@
+package com.example.myapplication1.ui.viewmodel
+
+import android.os.Process
+import android.os.SystemClock
+import android.util.Log
+import com.example.myapplication1.data.network.RequestPriority
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+
+/**
+ * Where the user is, as far as startup loading is concerned
+ */
+enum class StartupDestination {
+    HOME,
+    EXPLORE,
+    READER,
+    OTHER
+}
+
+/**
+ * Startup Scheduler - loads what the current destination needs, defers the rest
+ *
+ * Each task names the destinations that need it. Reaching one of them runs the
+ * task straight away in the interactive lane; everything still waiting runs in
+ * the background lane once the app is idle - [idleDelayMillis] after the first
+ * content is on screen, or [idleTimeoutMillis] after the first destination if
+ * no content signal comes.
+ *
+ * Also records time to first content (process start to first Home list frame).
+ * Runs on the caller's scope, which must be single-threaded (viewModelScope).
+ */
+class StartupScheduler(
+    private val scope: CoroutineScope,
+    private val idleDelayMillis: Long = 1_000,
+    private val idleTimeoutMillis: Long = 5_000
+) {
+
+    private class Task(
+        val name: String,
+        val neededBy: Set<StartupDestination>,
+        val run: (RequestPriority) -> Unit
+    ) {
+        var started = false
+    }
+
+    private val tasks = mutableListOf<Task>()
+    private var idleJob: Job? = null
+    private var idle = false
+
+    /** Process start to the first frame with Home content, or null until then */
+    var timeToFirstContentMillis: Long? = null
+        private set
+
+    fun register(name: String, neededBy: Set<StartupDestination>, run: (RequestPriority) -> Unit) {
+        tasks += Task(name, neededBy, run)
+    }
+
+    fun hasStarted(name: String): Boolean = tasks.any { it.name == name && it.started }
+
+    fun onDestination(destination: StartupDestination) {
+        tasks.filter { !it.started && destination in it.neededBy }
+            .forEach { start(it, RequestPriority.INTERACTIVE) }
+        if (idleJob == null && !idle) scheduleIdle(idleTimeoutMillis)
+    }
+
+    /** First content is on screen: record the metric, the rest may load shortly after */
+    fun onFirstContent() {
+        if (timeToFirstContentMillis != null) return
+        val elapsed = SystemClock.uptimeMillis() - Process.getStartUptimeMillis()
+        timeToFirstContentMillis = elapsed
+        Log.i(TAG, "Time to first content: ${elapsed}ms")
+        if (!idle) scheduleIdle(idleDelayMillis)
+    }
+
+    private fun scheduleIdle(delayMillis: Long) {
+        idleJob?.cancel()
+        idleJob = scope.launch {
+            delay(delayMillis)
+            idle = true
+            tasks.filter { !it.started }.forEach { start(it, RequestPriority.BACKGROUND) }
+        }
+    }
+
+    private fun start(task: Task, priority: RequestPriority) {
+        task.started = true
+        task.run(priority)
+    }
+
+    companion object {
+        private const val TAG = "MangaStartup"
+    }
+}
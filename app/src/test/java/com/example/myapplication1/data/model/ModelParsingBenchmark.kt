@@ -0,0 +1,343 @@
+package com.example.myapplication1.data.model
+
+import com.example.myapplication1.data.network.StreamingJsonConverterFactory
+import com.google.gson.FieldNamingPolicy
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.google.gson.reflect.TypeToken
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.json.JsonArrayBuilder
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.addJsonObject
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.decodeFromStream
+import kotlinx.serialization.json.put
+import kotlinx.serialization.json.putJsonArray
+import kotlinx.serialization.json.putJsonObject
+import kotlinx.serialization.serializer
+import org.junit.Assert.assertEquals
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.io.InputStreamReader
+import java.lang.management.ManagementFactory
+import java.lang.ref.Reference
+import java.lang.reflect.Type
+
+/**
+ * Generated kotlinx.serialization parsing vs. the previous reflective Gson path.
+ *
+ * The equivalence tests always run. The benchmark only runs with RUN_BENCHMARKS
+ * set, e.g. `RUN_BENCHMARKS=1 ./gradlew :app:testDebugUnitTest --tests '*ModelParsingBenchmark*'`.
+ *
+ * Payloads are read from src/test/resources/fixtures when present (recorded
+ * responses: jikan_top_25.json, jikan_top_100.json, mangadex_search_25.json,
+ * mangadex_search_100.json), otherwise generated with the same shape and
+ * field sizes as real Jikan / MangaDex responses.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+class ModelParsingBenchmark {
+
+    private val json = StreamingJsonConverterFactory.DEFAULT_JSON
+
+    // What GsonConverterFactory.create() did before: field names came from @SerializedName,
+    // which matched snake_case for Jikan and the property names for MangaDex
+    private val jikanGson: Gson = GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .create()
+    private val mangadexGson: Gson = Gson()
+
+    private val jikanType: Type = object : TypeToken<JikanResponse<List<Manga>>>() {}.type
+    private val mangadexType: Type = object : TypeToken<MangaDexResponse<List<MangaDexManga>>>() {}.type
+
+    private val jikanSerializer: KSerializer<JikanResponse<List<Manga>>> = serializer()
+    private val mangadexSerializer: KSerializer<MangaDexResponse<List<MangaDexManga>>> = serializer()
+    private val summarySerializer: KSerializer<JikanResponse<List<MangaSummary>>> = serializer()
+
+    @Test
+    fun jikanPage_decodesSameAsGson() {
+        val payload = payload("jikan_top_25.json") { jikanPage(25) }
+        assertEquals(parseGson(jikanGson, jikanType, payload), parseGenerated(jikanSerializer, payload))
+    }
+
+    @Test
+    fun jikanPage_summaryMatchesFullModel() {
+        val payload = payload("jikan_top_25.json") { jikanPage(25) }
+        val full = parseGenerated(jikanSerializer, payload).data.map { it.toSummary() }
+        assertEquals(full, parseGenerated(summarySerializer, payload).data)
+    }
+
+    @Test
+    fun mangadexPage_decodesSameAsGson() {
+        val payload = payload("mangadex_search_25.json") { mangadexPage(25) }
+        assertEquals(parseGson(mangadexGson, mangadexType, payload), parseGenerated(mangadexSerializer, payload))
+    }
+
+    @Test
+    fun benchmark() {
+        assumeTrue("Set RUN_BENCHMARKS to run", System.getenv("RUN_BENCHMARKS") != null)
+
+        val cases = listOf(
+            Triple("Jikan top 25", payload("jikan_top_25.json") { jikanPage(25) }, true),
+            Triple("Jikan top 100", payload("jikan_top_100.json") { jikanPage(100) }, true),
+            Triple("MangaDex search 25", payload("mangadex_search_25.json") { mangadexPage(25) }, false),
+            Triple("MangaDex search 100", payload("mangadex_search_100.json") { mangadexPage(100) }, false)
+        )
+
+        println(String.format("%-22s %-10s %12s %14s", "payload", "parser", "µs/parse", "KB alloc/parse"))
+        cases.forEach { (name, payload, isJikan) ->
+            val gson = measure {
+                if (isJikan) parseGson<Any>(jikanGson, jikanType, payload)
+                else parseGson<Any>(mangadexGson, mangadexType, payload)
+            }
+            val generated = measure {
+                if (isJikan) parseGenerated(jikanSerializer, payload)
+                else parseGenerated(mangadexSerializer, payload)
+            }
+            println(String.format("%-22s %-10s %12.1f %14.1f", name, "gson", gson.first, gson.second))
+            println(String.format("%-22s %-10s %12.1f %14.1f", name, "generated", generated.first, generated.second))
+            if (isJikan) {
+                val summary = measure { parseGenerated(summarySerializer, payload) }
+                println(String.format("%-22s %-10s %12.1f %14.1f", name, "summary", summary.first, summary.second))
+            }
+        }
+
+        // What a list state holds on to after paging through 500 titles
+        val page = payload("jikan_top_25.json") { jikanPage(25) }
+        val fullRetained = retainedKb { List(20) { parseGenerated(jikanSerializer, page).data } }
+        val summaryRetained = retainedKb { List(20) { parseGenerated(summarySerializer, page).data } }
+        println(String.format("retained for 20 pages: full %.0f KB, summary %.0f KB", fullRetained, summaryRetained))
+    }
+
+    // ========== Parsing ==========
+
+    private fun <T> parseGson(gson: Gson, type: Type, payload: ByteArray): T {
+        return InputStreamReader(ByteArrayInputStream(payload), Charsets.UTF_8).use { gson.fromJson(it, type) }
+    }
+
+    private fun <T> parseGenerated(serializer: KSerializer<T>, payload: ByteArray): T {
+        return json.decodeFromStream(serializer, ByteArrayInputStream(payload))
+    }
+
+    /** @return microseconds per call and KB allocated per call */
+    private fun measure(block: () -> Any?): Pair<Double, Double> {
+        val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        val threadId = Thread.currentThread().id
+        repeat(WARMUP_ITERATIONS) { block() }
+
+        val allocatedBefore = threads.getThreadAllocatedBytes(threadId)
+        val start = System.nanoTime()
+        repeat(MEASURED_ITERATIONS) { block() }
+        val elapsed = System.nanoTime() - start
+        val allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore
+
+        return Pair(
+            elapsed / 1_000.0 / MEASURED_ITERATIONS,
+            allocated / 1024.0 / MEASURED_ITERATIONS
+        )
+    }
+
+    /** Approximate heap kept alive by what [block] returns */
+    private fun retainedKb(block: () -> Any): Double {
+        val runtime = Runtime.getRuntime()
+        fun usedAfterGc(): Long {
+            repeat(3) { System.gc(); Thread.sleep(50) }
+            return runtime.totalMemory() - runtime.freeMemory()
+        }
+        val before = usedAfterGc()
+        val kept = block()
+        val after = usedAfterGc()
+        Reference.reachabilityFence(kept)
+        return (after - before) / 1024.0
+    }
+
+    // ========== Payloads ==========
+
+    private fun payload(fixture: String, generate: () -> JsonObject): ByteArray {
+        javaClass.getResourceAsStream("/fixtures/$fixture")?.use { return it.readBytes() }
+        return generate().toString().toByteArray(Charsets.UTF_8)
+    }
+
+    private fun text(words: Int, seed: Int): String {
+        return (0 until words).joinToString(" ") { LOREM[(it + seed) % LOREM.size] }
+    }
+
+    private fun jikanPage(items: Int) = buildJsonObject {
+        putJsonObject("pagination") {
+            put("last_visible_page", 1000)
+            put("has_next_page", true)
+            put("current_page", 1)
+            putJsonObject("items") {
+                put("count", items)
+                put("total", 25_000)
+                put("per_page", items)
+            }
+        }
+        putJsonArray("data") {
+            repeat(items) { jikanManga(it + 1) }
+        }
+    }
+
+    private fun JsonArrayBuilder.jikanManga(id: Int) = addJsonObject {
+        val image = "https://cdn.myanimelist.net/images/manga/$id/$id"
+        put("mal_id", id)
+        put("url", "https://myanimelist.net/manga/$id/Title_$id")
+        putJsonObject("images") {
+            putJsonObject("jpg") {
+                put("image_url", "$image.jpg")
+                put("small_image_url", "${image}t.jpg")
+                put("large_image_url", "${image}l.jpg")
+            }
+            putJsonObject("webp") {
+                put("image_url", "$image.webp")
+                put("small_image_url", "${image}t.webp")
+                put("large_image_url", "${image}l.webp")
+            }
+        }
+        put("approved", true)
+        putJsonArray("titles") {
+            listOf("Default", "Synonym", "Japanese", "English").forEach { type ->
+                addJsonObject {
+                    put("type", type)
+                    put("title", "${text(3, id)} $type")
+                }
+            }
+        }
+        put("title", "Title $id ${text(2, id)}")
+        put("title_english", "English Title $id")
+        put("title_japanese", "タイトル$id")
+        putJsonArray("title_synonyms") { }
+        put("type", "Manga")
+        put("chapters", 100 + id)
+        put("volumes", 10 + id % 20)
+        put("status", "Finished")
+        put("publishing", false)
+        putJsonObject("published") {
+            put("from", "1997-07-22T00:00:00+00:00")
+            put("to", "2020-05-15T00:00:00+00:00")
+            putJsonObject("prop") {
+                putJsonObject("from") { put("day", 22); put("month", 7); put("year", 1997) }
+                putJsonObject("to") { put("day", 15); put("month", 5); put("year", 2020) }
+            }
+            put("string", "Jul 22, 1997 to May 15, 2020")
+        }
+        put("score", 7.5 + (id % 20) / 10.0)
+        put("scored_by", 100_000 + id)
+        put("rank", id)
+        put("popularity", id * 3)
+        put("members", 500_000 - id)
+        put("favorites", 20_000 - id)
+        put("synopsis", text(180, id))
+        put("background", text(60, id + 7))
+        putJsonArray("authors") { repeat(2) { entity(this, id * 10 + it, "people", "Author $it") } }
+        putJsonArray("serializations") { entity(this, id * 10, "manga", "Weekly Magazine") }
+        putJsonArray("genres") {
+            listOf("Action", "Adventure", "Fantasy").forEachIndexed { i, name -> entity(this, i + 1, "manga", name) }
+        }
+        putJsonArray("explicit_genres") { }
+        putJsonArray("themes") { entity(this, 38, "manga", "Military"); entity(this, 62, "manga", "Isekai") }
+        putJsonArray("demographics") { entity(this, 27, "manga", "Shounen") }
+    }
+
+    private fun entity(array: JsonArrayBuilder, id: Int, type: String, name: String) {
+        array.addJsonObject {
+            put("mal_id", id)
+            put("type", type)
+            put("name", name)
+            put("url", "https://myanimelist.net/$type/$id/${name.replace(' ', '_')}")
+        }
+    }
+
+    private fun mangadexPage(items: Int) = buildJsonObject {
+        put("result", "ok")
+        put("response", "collection")
+        putJsonArray("data") {
+            repeat(items) { mangadexManga(it) }
+        }
+        put("limit", items)
+        put("offset", 0)
+        put("total", 10_000)
+    }
+
+    private fun uuid(seed: Int) = String.format("%08x-0000-4000-8000-%012x", seed, seed * 7919L)
+
+    private fun JsonArrayBuilder.mangadexManga(index: Int) = addJsonObject {
+        val id = uuid(index)
+        put("id", id)
+        put("type", "manga")
+        putJsonObject("attributes") {
+            putJsonObject("title") { put("en", "Title $index ${text(2, index)}") }
+            putJsonArray("altTitles") {
+                listOf("ja", "ja-ro", "ko", "zh", "fr", "es-la").forEach { lang ->
+                    addJsonObject { put(lang, "${text(3, index)} ($lang)") }
+                }
+            }
+            putJsonObject("description") {
+                listOf("en", "fr", "es-la", "pt-br").forEach { lang -> put(lang, text(120, index)) }
+            }
+            put("isLocked", false)
+            putJsonObject("links") {
+                listOf("al", "ap", "bw", "kt", "mu", "amz", "ebj", "mal", "raw").forEach { key ->
+                    put(key, "https://example.org/$key/$index")
+                }
+            }
+            put("originalLanguage", "ja")
+            put("lastVolume", "12")
+            put("lastChapter", "110")
+            put("publicationDemographic", "seinen")
+            put("status", "completed")
+            put("year", 2005)
+            put("contentRating", "safe")
+            putJsonArray("tags") {
+                repeat(8) { t ->
+                    addJsonObject {
+                        put("id", uuid(10_000 + t))
+                        put("type", "tag")
+                        putJsonObject("attributes") {
+                            putJsonObject("name") { put("en", "Tag $t") }
+                            putJsonObject("description") { }
+                            put("group", if (t % 2 == 0) "genre" else "theme")
+                            put("version", 1)
+                        }
+                        putJsonArray("relationships") { }
+                    }
+                }
+            }
+            put("state", "published")
+            put("chapterNumbersResetOnNewVolume", false)
+            put("createdAt", "2018-01-20T01:37:40+00:00")
+            put("updatedAt", "2023-06-11T17:10:02+00:00")
+            put("version", 42)
+            putJsonArray("availableTranslatedLanguages") { }
+            put("latestUploadedChapter", uuid(index + 50_000))
+        }
+        putJsonArray("relationships") {
+            addJsonObject { put("id", uuid(index + 20_000)); put("type", "author") }
+            addJsonObject { put("id", uuid(index + 20_000)); put("type", "artist") }
+            addJsonObject {
+                put("id", uuid(index + 30_000))
+                put("type", "cover_art")
+                putJsonObject("attributes") {
+                    put("description", "")
+                    put("volume", "1")
+                    put("fileName", "${uuid(index + 40_000)}.jpg")
+                    put("locale", "ja")
+                    put("createdAt", "2021-05-24T16:48:38+00:00")
+                    put("updatedAt", "2021-05-24T16:48:38+00:00")
+                    put("version", 1)
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val WARMUP_ITERATIONS = 200
+        private const val MEASURED_ITERATIONS = 500
+
+        private val LOREM = listOf(
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do",
+            "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim"
+        )
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.myapplication1.data.network
+
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.Response
+import org.junit.Assert.*
+import org.junit.Test
+import java.io.InterruptedIOException
+import java.net.ConnectException
+import java.net.SocketTimeoutException
+import kotlin.random.Random
+
+/**
+ * Which failures are retried, how long to wait, and the retry budget.
+ */
+class RetryPolicyTest {
+
+    private val get = Request.Builder().url("https://api.jikan.moe/v4/manga/1").build()
+    private val post = Request.Builder().url("https://api.jikan.moe/v4/manga/1").post("{}".toRequestBody()).build()
+
+    private fun response(code: Int, retryAfter: String? = null, request: Request = get): Response {
+        return Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("status $code")
+            .apply { if (retryAfter != null) header("Retry-After", retryAfter) }
+            .build()
+    }
+
+    @Test
+    fun retryAfterSeconds_isHonoured() {
+        val policy = RetryPolicy()
+
+        assertEquals(5_000L, policy.retryDelay(get, response(429, "5"), attempt = 1))
+        assertEquals(30_000L, policy.retryDelay(get, response(503, "30"), attempt = 1))
+    }
+
+    @Test
+    fun retryAfterOverTheCap_givesUp() {
+        val policy = RetryPolicy()
+
+        assertNull(policy.retryDelay(get, response(429, "31"), attempt = 1))
+        assertNull(policy.retryDelay(get, response(429, "3600"), attempt = 1))
+    }
+
+    @Test
+    fun withoutRetryAfter_jitteredBackoffWithinTheCeiling() {
+        val policy = RetryPolicy(budget = RetryBudget(initialTokens = 10.0), random = Random(42))
+
+        repeat(5) {
+            val delay = policy.retryDelay(get, response(500), attempt = 1)!!
+            assertTrue(delay in 0..500)
+        }
+        val second = policy.retryDelay(get, response(500), attempt = 2)!!
+        assertTrue(second in 0..1_000)
+    }
+
+    @Test
+    fun notRetried_nonIdempotentClientErrorsAndLastAttempt() {
+        val policy = RetryPolicy(maxAttempts = 3)
+
+        assertNull(policy.retryDelay(post, response(503, request = post), attempt = 1))
+        assertNull(policy.retryDelay(get, response(404), attempt = 1))
+        assertNull(policy.retryDelay(get, response(503), attempt = 3))
+    }
+
+    @Test
+    fun transportFailures_timeoutsRetried_cancellationsNot() {
+        val policy = RetryPolicy()
+
+        assertNotNull(policy.retryDelay(get, SocketTimeoutException(), canceled = false, attempt = 1))
+        assertNotNull(policy.retryDelay(get, ConnectException(), canceled = false, attempt = 1))
+        assertNull(policy.retryDelay(get, InterruptedIOException(), canceled = false, attempt = 1))
+        assertNull(policy.retryDelay(get, ConnectException(), canceled = true, attempt = 1))
+    }
+
+    @Test
+    fun budget_runsOutAndRefillsWithTraffic() {
+        val budget = RetryBudget(ratio = 0.5, initialTokens = 2.0)
+        val policy = RetryPolicy(budget = budget)
+
+        assertNotNull(policy.retryDelay(get, response(503, "1"), attempt = 1))
+        assertNotNull(policy.retryDelay(get, response(503, "1"), attempt = 1))
+        assertNull(policy.retryDelay(get, response(503, "1"), attempt = 1))
+
+        // Two requests at 0.5 each pay for one more retry
+        policy.onRequest()
+        assertNull(policy.retryDelay(get, response(503, "1"), attempt = 1))
+        policy.onRequest()
+        assertNotNull(policy.retryDelay(get, response(503, "1"), attempt = 1))
+    }
+
+    @Test
+    fun budget_isCapped() {
+        val budget = RetryBudget(ratio = 1.0, initialTokens = 0.0, maxTokens = 2.0)
+        repeat(10) { budget.deposit() }
+
+        assertTrue(budget.withdraw())
+        assertTrue(budget.withdraw())
+        assertFalse(budget.withdraw())
+    }
+}
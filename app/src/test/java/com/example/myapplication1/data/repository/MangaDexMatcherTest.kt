@@ -0,0 +1,104 @@
+package com.example.myapplication1.data.repository
+
+import com.example.myapplication1.data.model.MangaDexManga
+import com.example.myapplication1.data.model.MangaDexMangaAttributes
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Confidence tiers of the MAL -> MangaDex match.
+ */
+class MangaDexMatcherTest {
+
+    private fun manga(
+        id: String,
+        title: String,
+        altTitles: List<String> = emptyList(),
+        malId: Int? = null,
+        contentRating: String = "safe"
+    ) = MangaDexManga(
+        id = id,
+        type = "manga",
+        attributes = MangaDexMangaAttributes(
+            title = mapOf("en" to title),
+            altTitles = altTitles.map { mapOf("en" to it) },
+            description = null,
+            isLocked = null,
+            links = malId?.let { mapOf("mal" to it.toString()) },
+            originalLanguage = null,
+            lastVolume = null,
+            lastChapter = null,
+            publicationDemographic = null,
+            status = null,
+            year = null,
+            contentRating = contentRating,
+            tags = null,
+            state = null,
+            chapterNumbersResetOnNewVolume = null,
+            createdAt = null,
+            updatedAt = null,
+            version = null
+        )
+    )
+
+    @Test
+    fun malLink_winsOverTitleMatch() {
+        val candidates = listOf(
+            manga("a", "Berserk"),
+            manga("b", "Berserk: The Prototype", malId = 2)
+        )
+
+        val (match, confidence) = MangaDexMatcher.bestMatch(candidates, malId = 2, title = "Berserk")!!
+
+        assertEquals("b", match.id)
+        assertEquals(MangaDexMatcher.LINKED, confidence, 0.0)
+    }
+
+    @Test
+    fun altTitle_matchesIgnoringCaseAndPunctuation() {
+        val candidates = listOf(
+            manga("a", "Something Else"),
+            manga("b", "Shingeki no Kyojin", altTitles = listOf("Attack on Titan!"))
+        )
+
+        val (match, confidence) = MangaDexMatcher.bestMatch(candidates, malId = 23390, title = "attack on titan")!!
+
+        assertEquals("b", match.id)
+        assertEquals(MangaDexMatcher.TITLE_MATCH, confidence, 0.0)
+    }
+
+    @Test
+    fun noLinkOrTitle_firstSafeResultWithLowConfidence() {
+        val candidates = listOf(
+            manga("a", "Unrelated", contentRating = "pornographic"),
+            manga("b", "Also Unrelated"),
+            manga("c", "Third")
+        )
+
+        val (match, confidence) = MangaDexMatcher.bestMatch(candidates, malId = 1, title = "Monster")!!
+
+        assertEquals("b", match.id)
+        assertEquals(MangaDexMatcher.FIRST_RESULT, confidence, 0.0)
+    }
+
+    @Test
+    fun unsafeCandidate_isNeverPicked_evenWhenLinked() {
+        val candidates = listOf(
+            manga("a", "Monster", malId = 1, contentRating = "erotica"),
+            manga("b", "Monster")
+        )
+
+        val (match, confidence) = MangaDexMatcher.bestMatch(candidates, malId = 1, title = "Monster")!!
+
+        assertEquals("b", match.id)
+        assertEquals(MangaDexMatcher.TITLE_MATCH, confidence, 0.0)
+    }
+
+    @Test
+    fun onlyUnsafeCandidates_noMatch() {
+        val candidates = listOf(manga("a", "Monster", contentRating = "pornographic"))
+
+        assertNull(MangaDexMatcher.bestMatch(candidates, malId = 1, title = "Monster"))
+        assertNull(MangaDexMatcher.bestMatch(emptyList(), malId = 1, title = "Monster"))
+    }
+}
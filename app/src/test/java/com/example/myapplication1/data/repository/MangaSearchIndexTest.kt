@@ -0,0 +1,47 @@
+package com.example.myapplication1.data.repository
+
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Query to FTS MATCH expression, and the escaped title LIKE prefix.
+ */
+class MangaSearchIndexTest {
+
+    @Test
+    fun words_becomePrefixTerms() {
+        assertEquals("one* piece*", MangaSearchIndex.matchExpression("One Piece"))
+        assertEquals("one* piece*", MangaSearchIndex.matchExpression("  one   piece "))
+    }
+
+    @Test
+    fun operatorsAndPunctuation_areStripped() {
+        // Lower-cased, OR/NEAR are plain words to FTS; quotes, -, *, : and _ never reach it
+        assertEquals(
+            "near* or* foo* bar* baz*",
+            MangaSearchIndex.matchExpression("\"NEAR\" OR -foo* bar:baz")
+        )
+        assertEquals("re* zero*", MangaSearchIndex.matchExpression("Re:Zero"))
+        assertEquals("a* b*", MangaSearchIndex.matchExpression("a_b"))
+    }
+
+    @Test
+    fun lettersAndDigitsOfAnyScript_areKept() {
+        assertEquals("ōkami* 2*", MangaSearchIndex.matchExpression("Ōkami 2"))
+        assertEquals("進撃の巨人*", MangaSearchIndex.matchExpression("進撃の巨人"))
+    }
+
+    @Test
+    fun nothingSearchable_isNull() {
+        assertNull(MangaSearchIndex.matchExpression(""))
+        assertNull(MangaSearchIndex.matchExpression("!!!"))
+        assertNull(MangaSearchIndex.matchExpression(" \"*\" - "))
+    }
+
+    @Test
+    fun likePrefix_escapesWildcards() {
+        assertEquals("one piece%", MangaSearchIndex.likePrefix("one piece"))
+        assertEquals("100\\%\\_%", MangaSearchIndex.likePrefix("100%_"))
+        assertEquals("a\\\\b%", MangaSearchIndex.likePrefix("a\\b"))
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.myapplication1.data.repository
+
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * TTL expiry, byte-bound LRU eviction and counters, against a virtual clock.
+ */
+class MemoryCacheTest {
+
+    private var now = 0L
+
+    // Each value weighs its length in bytes
+    private fun cache(maxSizeBytes: Long = 10, ttlMillis: Long = 1_000) = MemoryCache<String, String>(
+        maxSizeBytes = maxSizeBytes,
+        defaultTtlMillis = ttlMillis,
+        sizeOf = { it.length.toLong() },
+        clock = { now }
+    )
+
+    @Test
+    fun entry_expiresAtItsTtl() {
+        val cache = cache()
+        cache.put("a", "aaa")
+        cache.put("b", "bbb", ttlMillis = 5_000)
+
+        now = 999
+        assertEquals("aaa", cache.get("a"))
+        now = 1_000
+        assertNull(cache.get("a"))
+        assertEquals("bbb", cache.get("b"))
+
+        assertEquals(1, cache.expirations.get())
+        assertEquals(3, cache.sizeBytes())
+    }
+
+    @Test
+    fun overBudget_leastRecentlyUsedGoesFirst() {
+        val cache = cache(maxSizeBytes = 10)
+        cache.put("a", "aaaa")
+        cache.put("b", "bbbb")
+        // Reading a makes b the eldest
+        cache.get("a")
+        cache.put("c", "cccc")
+
+        assertNull(cache.get("b"))
+        assertEquals("aaaa", cache.get("a"))
+        assertEquals("cccc", cache.get("c"))
+        assertEquals(1, cache.evictions.get())
+        assertEquals(8, cache.sizeBytes())
+    }
+
+    @Test
+    fun valueLargerThanTheCache_isNotKept_andEvictsNothing() {
+        val cache = cache(maxSizeBytes = 10)
+        cache.put("a", "aaaa")
+        cache.put("big", "x".repeat(11))
+
+        assertNull(cache.get("big"))
+        assertEquals("aaaa", cache.get("a"))
+        assertEquals(0, cache.evictions.get())
+    }
+
+    @Test
+    fun replacingAnEntry_reweighsIt() {
+        val cache = cache(maxSizeBytes = 10)
+        cache.put("a", "aaaaaaaa")
+        cache.put("a", "aa")
+        cache.put("b", "bbbbbbbb")
+
+        assertEquals("aa", cache.get("a"))
+        assertEquals(10, cache.sizeBytes())
+        assertEquals(0, cache.evictions.get())
+    }
+
+    @Test
+    fun counters_hitsMissesAndInvalidation() {
+        val cache = cache()
+        cache.put("a", "aaa")
+
+        cache.get("a")
+        cache.get("a")
+        cache.get("missing")
+        cache.invalidate("a")
+        cache.get("a")
+
+        assertEquals(2, cache.hits.get())
+        assertEquals(2, cache.misses.get())
+        assertEquals(0, cache.sizeBytes())
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.myapplication1.data.repository
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.junit.Assert.*
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Coalescing of concurrent callers, and what cancelling a waiter does.
+ * The shared work is held open with a gate so callers can pile up on it.
+ */
+class SingleFlightTest {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Unconfined)
+    private val flight = SingleFlight<String, String>(scope)
+    private val runs = AtomicInteger()
+
+    @Test
+    fun concurrentCallers_shareOneRun() = runBlocking {
+        val gate = CompletableDeferred<String>()
+        val callers = (1..3).map {
+            async { flight.run("key") { runs.incrementAndGet(); gate.await() } }
+        }
+        yield()
+
+        gate.complete("result")
+
+        assertEquals(listOf("result", "result", "result"), callers.map { it.await() })
+        assertEquals(1, runs.get())
+    }
+
+    @Test
+    fun differentKeys_runSeparately() = runBlocking {
+        val a = async { flight.run("a") { runs.incrementAndGet(); "A" } }
+        val b = async { flight.run("b") { runs.incrementAndGet(); "B" } }
+
+        assertEquals("A", a.await())
+        assertEquals("B", b.await())
+        assertEquals(2, runs.get())
+    }
+
+    @Test
+    fun afterCompletion_nextCallStartsAFreshRun() = runBlocking {
+        assertEquals("1", flight.run("key") { runs.incrementAndGet().toString() })
+        assertEquals("2", flight.run("key") { runs.incrementAndGet().toString() })
+    }
+
+    @Test
+    fun cancellingOneWaiter_othersStillGetTheResult() = runBlocking {
+        val gate = CompletableDeferred<String>()
+        val leaving = async { flight.run("key") { runs.incrementAndGet(); gate.await() } }
+        val staying = async { flight.run("key") { runs.incrementAndGet(); gate.await() } }
+        yield()
+
+        leaving.cancel()
+        gate.complete("result")
+
+        assertEquals("result", staying.await())
+        assertTrue(leaving.isCancelled)
+        assertEquals(1, runs.get())
+    }
+
+    @Test
+    fun lastWaiterLeaving_cancelsTheWork() = runBlocking {
+        val workCancelled = CompletableDeferred<Unit>()
+        val caller = async {
+            flight.run("key") {
+                try {
+                    awaitCancellation()
+                } finally {
+                    workCancelled.complete(Unit)
+                }
+            }
+        }
+        yield()
+
+        caller.cancel()
+        workCancelled.await()
+
+        // Nothing left of the cancelled flight - a new caller runs the block again
+        assertEquals("fresh", flight.run("key") { "fresh" })
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.myapplication1.data.repository
+
+import com.example.myapplication1.data.model.Pagination
+import com.example.myapplication1.data.network.ApiResult
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.flowOf
+import org.junit.Assert.*
+import org.junit.Test
+
+/**
+ * Page offsets, the page window and reloads, against an in-memory feed.
+ * Loads complete synchronously (unconfined scope, single-emission flows).
+ */
+class WindowedPagerTest {
+
+    private val loads = mutableListOf<Pair<Int, Boolean>>()
+
+    private fun pager(
+        lastPage: Int = 6,
+        pageSize: Int = 10,
+        windowPages: Int = 3,
+        pageItems: (Int) -> List<String> = { page -> (0 until pageSize).map { "p$page-$it" } },
+        transform: (List<String>) -> List<String> = { it }
+    ) = WindowedPager(
+        scope = CoroutineScope(Dispatchers.Unconfined),
+        windowPages = windowPages,
+        prefetchDistance = 2,
+        load = { page, _, cachedOnly ->
+            loads += Pair(page, cachedOnly)
+            val pagination = Pagination(lastVisiblePage = lastPage, hasNextPage = page < lastPage, currentPage = page)
+            flowOf(ApiResult.Success(Pair(pageItems(page), pagination)))
+        },
+        transform = transform
+    )
+
+    @Test
+    fun nearTheEnd_nextPageIsAppended() {
+        val pager = pager()
+        pager.start()
+        assertEquals(10, pager.state.value.items.size)
+
+        pager.onVisibleRange(0, 5)
+        assertEquals(10, pager.state.value.items.size)
+
+        pager.onVisibleRange(0, 9)
+        val items = pager.state.value.items
+        assertEquals(20, items.size)
+        assertEquals(2, items.pageCount)
+        assertEquals("p2-0", items[10])
+        assertEquals(2, items.pageOf(10))
+        assertEquals(listOf(Pair(1, false), Pair(2, false)), loads)
+    }
+
+    @Test
+    fun farPagesAreDropped_andReloadedFromCacheWhenBackInRange() {
+        val pager = pager()
+        pager.start()
+        for (first in 0 until 40 step 10) pager.onVisibleRange(first, first + 9)
+
+        val scrolled = pager.state.value.items
+        assertEquals(50, scrolled.size)
+        // Page 1 is pinned; page 2 left the window but keeps its indexes
+        assertEquals("p1-0", scrolled[0])
+        assertNull(scrolled[10])
+        assertEquals("p5-0", scrolled[40])
+
+        pager.onVisibleRange(10, 12)
+        val back = pager.state.value.items
+        assertEquals("p2-0", back[10])
+        assertEquals(50, back.size)
+        assertTrue(Pair(2, true) in loads)
+        // The window is bounded again - the farthest pages went
+        assertNull(back[40])
+    }
+
+    @Test
+    fun pageFilteredToNothing_nextPageStillLoads() {
+        val pager = pager(transform = { page -> page.filterNot { it.startsWith("p1-") } })
+        pager.start()
+
+        val items = pager.state.value.items
+        assertEquals(10, items.size)
+        assertEquals("p2-0", items[0])
+        assertEquals(2, items.pageOf(0))
+        assertEquals("2:0", items.key(0))
+    }
+
+    @Test
+    fun keys_followTheSlot_acrossAppendsAndReloads() {
+        val pager = pager()
+        pager.start()
+        pager.onVisibleRange(0, 9)
+        assertEquals("1:5", pager.state.value.items.key(5))
+        assertEquals("2:3", pager.state.value.items.key(13))
+
+        for (first in 10 until 40 step 10) pager.onVisibleRange(first, first + 9)
+        val dropped = pager.state.value.items
+        assertNull(dropped[13])
+        // The placeholder has the key the reloaded item will have
+        assertEquals("2:3", dropped.key(13))
+        assertEquals("1:5", dropped.key(5))
+
+        pager.onVisibleRange(10, 15)
+        val reloaded = pager.state.value.items
+        assertEquals("p2-3", reloaded[13])
+        assertEquals("2:3", reloaded.key(13))
+    }
+
+    @Test
+    fun lastPage_noMoreLoads() {
+        val pager = pager(lastPage = 2)
+        pager.start()
+        pager.onVisibleRange(0, 9)
+        pager.onVisibleRange(10, 19)
+
+        assertEquals(20, pager.state.value.items.size)
+        assertFalse(pager.state.value.canLoadMore)
+        assertEquals(listOf(1, 2), loads.map { it.first })
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.myapplication1.ui.components
+
+import org.junit.Assert.*
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Which pages count as "scrolled in blank".
+ */
+class BlankPageCounterTest {
+
+    private val shown = AtomicLong()
+    private val blank = AtomicLong()
+    private val counter = BlankPageCounter(pageCount = 10, shown = shown, blank = blank)
+
+    @Test
+    fun beforeTheFirstPageLoads_nothingCounts() {
+        counter.onVisible(0, 1)
+
+        assertEquals(0, shown.get())
+        assertEquals(0, blank.get())
+    }
+
+    @Test
+    fun prefetchedPage_isNotBlank_evenBeforeItsImageLoads() {
+        counter.onLoaded(0)
+        counter.onPrefetched(1)
+        counter.onPrefetched(2)
+
+        counter.onVisible(0, 2)
+
+        assertEquals(3, shown.get())
+        assertEquals(0, blank.get())
+    }
+
+    @Test
+    fun pageNeitherPrefetchedNorLoaded_isBlank() {
+        counter.onLoaded(0)
+        counter.onPrefetched(1)
+
+        counter.onVisible(0, 3)
+
+        assertEquals(4, shown.get())
+        assertEquals(2, blank.get())
+    }
+
+    @Test
+    fun eachPageCountsOnce_asItFirstAppears() {
+        counter.onLoaded(0)
+        counter.onVisible(0, 1)
+        // Page 1 loads late, then scrolls out and back in
+        counter.onLoaded(1)
+        counter.onVisible(1, 2)
+        counter.onVisible(0, 1)
+
+        assertEquals(3, shown.get())
+        assertEquals(2, blank.get())
+        assertEquals(3, counter.seenCount)
+    }
+
+    @Test
+    fun indexesOutsideTheChapter_areIgnored() {
+        counter.onLoaded(0)
+        counter.onVisible(-1, 11)
+
+        assertEquals(10, shown.get())
+        assertEquals(10, counter.seenCount)
+    }
+}